@@ -0,0 +1,304 @@
+package cli;
+
+import game.Action;
+import game.Cell;
+import game.CellContent;
+import game.GameBoard;
+import game.Level;
+import solver.GoalRoom;
+import solver.PartialResult;
+import solver.SokobanSolver;
+import solver.configuration.*;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+
+/*
+Command line entry point of the solver, for solving levels in batch without starting the GUI.
+Every level given is solved in turn with the configuration given by the options: a line of statistics is printed for
+each of them, followed by the solution in LURD notation, where lowercase letters are moves and uppercase ones pushes,
+or by what the search got to if it stopped without one. The exit status is 0 if every level was solved, 1 if any of
+them wasn't and 2 if the arguments or a level couldn't be read.
+*/
+public class CommandLine {
+    private static final Logger log = Logger.getLogger("CommandLine");
+    private static final String USAGE = String.join("\n",
+            "Usage: java -jar SokoBOT-core.jar [options] <level>...",
+            "Levels are json files in the format of the levels that come with the solver, or the numbers of those levels",
+            "(1 to " + Level.NUM_LEVELS + ").",
+            "",
+            "Options:",
+            "  --scheme <scheme>          expansion scheme: PUSH_BASED (default) or MOVE_BASED",
+            "  --strategy <strategy>      search strategy: ASTAR (default), IDASTAR, GBFS, FRINGE, PEASTAR, ...",
+            "  --heuristic <heuristic>    MINIMUM_PERFECT_MATCHING (default) or NAIVE_MATCHING",
+            "  --routine <routine>        deadlock detection: ALL_ROUTINES (default), LOOKUP_TABLES, DEAD_POSITIONS,",
+            "                             FROZEN_BOXES or NO_DEADLOCK_DETECTION",
+            "  --auto                     pick the configuration of every level from its features",
+            "  --time-budget <ms>         stop the search of a level after this many milliseconds",
+            "  --node-budget <nodes>      stop the search of a level after exploring this many nodes",
+            "  --memory-budget <bytes>    stop the search of a level when the heap in use reaches this size",
+            "  --weight <weight>          weight of the heuristic for weighted and anytime strategies",
+            "  --threads <threads>        worker threads of parallel strategies",
+            "  --rooms                    split levels into rooms and solve them one room at a time",
+            "  --lexicographic            push-based A* returns the push-optimal solution with the fewest moves",
+            "  --no-move-optimization     leave the moves of push-based solutions as the search found them",
+            "  --checkpoint <directory>   checkpoint the searches, each level in a directory of its own in here",
+            "  --resume                   pick the searches up from their latest checkpoint",
+            "  --verbose                  log the progress of the searches",
+            "  --help                     print this message");
+
+    //options read from the command line, with the same defaults as the GUI
+    private ExpansionScheme scheme = ExpansionScheme.PUSH_BASED;
+    private Strategy strategy = Strategy.ASTAR;
+    private Heuristic heuristic = Heuristic.MINIMUM_PERFECT_MATCHING;
+    private DDRoutine routine = DDRoutine.ALL_ROUTINES;
+    private boolean automatic = false;
+    private long timeBudget = 0;
+    private long nodeBudget = 0;
+    private long memoryBudget = 0;
+    private Double weight = null;
+    private Integer threads = null;
+    private boolean rooms = false;
+    private boolean lexicographic = false;
+    private boolean moveOptimization = true;
+    private String checkpointDirectory = null;
+    private boolean resume = false;
+    private boolean verbose = false;
+    private final ArrayList<String> levels = new ArrayList<>();
+
+    public static void main(String[] args) {
+        CommandLine commandLine = new CommandLine();
+        try {
+            if (!commandLine.parse(args)) {
+                System.out.println(USAGE);
+                System.exit(0);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        System.exit(commandLine.run());
+    }
+
+/*
+    Reads the options and the levels, returning false if the usage was asked for.
+    Throws IllegalArgumentException if an option is unknown or has a missing or wrong value.
+*/
+    private boolean parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                levels.add(arg);
+                continue;
+            }
+
+            switch (arg) {
+                case "--help": return false;
+                case "--scheme": scheme = parseEnum(ExpansionScheme.class, arg, value(args, ++i, arg)); break;
+                case "--strategy": strategy = parseEnum(Strategy.class, arg, value(args, ++i, arg)); break;
+                case "--heuristic": heuristic = parseEnum(Heuristic.class, arg, value(args, ++i, arg)); break;
+                case "--routine": routine = parseEnum(DDRoutine.class, arg, value(args, ++i, arg)); break;
+                case "--auto": automatic = true; break;
+                case "--time-budget": timeBudget = parseLong(arg, value(args, ++i, arg)); break;
+                case "--node-budget": nodeBudget = parseLong(arg, value(args, ++i, arg)); break;
+                case "--memory-budget": memoryBudget = parseLong(arg, value(args, ++i, arg)); break;
+                case "--weight": {
+                    try {
+                        weight = Double.parseDouble(value(args, ++i, arg));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Option " + arg + " needs a number");
+                    }
+                    break;
+                }
+                case "--threads": threads = (int) parseLong(arg, value(args, ++i, arg)); break;
+                case "--rooms": rooms = true; break;
+                case "--lexicographic": lexicographic = true; break;
+                case "--no-move-optimization": moveOptimization = false; break;
+                case "--checkpoint": checkpointDirectory = value(args, ++i, arg); break;
+                case "--resume": resume = true; break;
+                case "--verbose": verbose = true; break;
+                default: throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        if (levels.isEmpty())
+            throw new IllegalArgumentException("No level to solve");
+        if (resume && checkpointDirectory == null)
+            throw new IllegalArgumentException("Option --resume needs a checkpoint directory");
+        return true;
+    }
+
+/*
+    Solves the levels one after the other, returning the exit status
+*/
+    private int run() {
+        //the progress of the searches is logged on the standard error, and only when asked for
+        if (!verbose)
+            LogManager.getLogManager().reset();
+
+        int status = 0;
+        for (String name : levels) {
+            Level level;
+            try {
+                level = load(name);
+            } catch (IOException | RuntimeException e) {
+                System.out.println(name + ": the level can't be read: " + e.getMessage());
+                status = 2;
+                continue;
+            }
+
+            try {
+                if (!solve(name, level) && status == 0)
+                    status = 1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 1;
+            } catch (CloneNotSupportedException | RuntimeException e) {
+                log.severe("The search of " + name + " failed: " + e);
+                System.out.println(name + ": the search failed: " + e);
+                if (status == 0)
+                    status = 1;
+            }
+        }
+        return status;
+    }
+
+/*
+    Solves a level and prints the outcome, returning true if a solution was found
+*/
+    private boolean solve(String name, Level level) throws InterruptedException, CloneNotSupportedException {
+        Configuration configuration = automatic ? Configuration.getAutomatic(level) :
+                Configuration.getInstance(scheme, strategy, heuristic, routine, level);
+        configuration.setTimeBudget(timeBudget);
+        configuration.setNodeBudget(nodeBudget);
+        configuration.setMemoryBudget(memoryBudget);
+        if (weight != null)
+            configuration.setWeight(weight);
+        if (threads != null)
+            configuration.setParallelism(threads);
+        configuration.setRoomDecomposition(rooms);
+        configuration.setLexicographicCost(lexicographic);
+        configuration.setMoveOptimization(moveOptimization);
+        if (checkpointDirectory != null)
+            configuration.setCheckpointDirectory(Paths.get(checkpointDirectory, directoryName(name)).toString());
+        //nobody is watching the board
+        configuration.setReplayDelay(0);
+
+        SokobanSolver solver = new SokobanSolver(configuration);
+        GameBoard board = new GameBoard(level);
+        if (resume)
+            solver.resume(board);
+        else
+            solver.solve(board);
+
+        //the solver only leaves a partial result behind when the search stopped without a solution
+        PartialResult partial = solver.getPartialResult();
+        if (partial != null) {
+            System.out.println(name + ": not solved with " + configuration + ". " + partial);
+            return false;
+        }
+
+        //a level solved from the start has an empty solution
+        List<Action> solution = solver.getSolution() != null ? solver.getSolution() : new ArrayList<>();
+        GameBoard replayed = new GameBoard(level);
+        String lurd = lurd(replayed, solution);
+        if (!replayed.checkVictory()) {
+            System.out.println(name + ": the search with " + configuration + " ended with moves that don't solve " +
+                    "the level: " + lurd);
+            return false;
+        }
+        long pushes = lurd.chars().filter(Character::isUpperCase).count();
+        System.out.println(name + ": solved with " + configuration + " in " + solver.getTimeElapsed() + " seconds, " +
+                solution.size() + " moves, " + pushes + " pushes, " + solver.getExploredNodes() + " explored nodes");
+        System.out.println(lurd);
+        return true;
+    }
+
+/*
+    Loads a level that comes with the solver if the name is its number, or the level in the file with the given name
+*/
+    private static Level load(String name) throws IOException {
+        try {
+            int number = Integer.parseInt(name);
+            if (number < 1 || number > Level.NUM_LEVELS)
+                throw new IOException("there's no level " + number + " among the ones that come with the solver");
+            return new Level(number);
+        } catch (NumberFormatException e) {
+            return new Level(Paths.get(name));
+        }
+    }
+
+/*
+    Writes a solution in LURD notation, playing it on the given board to tell moves and pushes apart
+*/
+    private static String lurd(GameBoard board, List<Action> solution) throws CloneNotSupportedException {
+        board.setDetector(null);
+        StringBuilder lurd = new StringBuilder();
+        for (Action a : solution) {
+            Cell next = GoalRoom.neighbour(board, board.getSokobanCell(), a);
+            boolean push = next != null && next.getContent() == CellContent.BOX;
+            char letter;
+            switch (a) {
+                case MOVE_UP: letter = 'u'; break;
+                case MOVE_DOWN: letter = 'd'; break;
+                case MOVE_LEFT: letter = 'l'; break;
+                default: letter = 'r';
+            }
+            lurd.append(push ? Character.toUpperCase(letter) : letter);
+            board.takeAction(a);
+        }
+        return lurd.toString();
+    }
+
+/*
+    Name of the checkpoint directory of a level: the name of its file without the extension, or its number
+*/
+    private static String directoryName(String name) {
+        String file = Paths.get(name).getFileName().toString();
+        int dot = file.lastIndexOf('.');
+        return dot > 0 ? file.substring(0, dot) : file;
+    }
+
+    private static String value(String[] args, int i, String option) {
+        if (i >= args.length)
+            throw new IllegalArgumentException("Option " + option + " needs a value");
+        return args[i];
+    }
+
+    private static long parseLong(String option, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Option " + option + " needs a whole number");
+        }
+    }
+
+/*
+    Reads the value of an enum option, either the name of the constant or the one shown by the GUI
+*/
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String option, String value) {
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value))
+                return constant;
+        }
+
+        Object mapped = null;
+        if (type == ExpansionScheme.class)
+            mapped = ExpansionScheme.mapString(value);
+        else if (type == Strategy.class)
+            mapped = Strategy.mapString(value);
+        else if (type == Heuristic.class)
+            mapped = Heuristic.mapString(value);
+        else if (type == DDRoutine.class)
+            mapped = DDRoutine.mapString(value);
+        if (mapped == null)
+            throw new IllegalArgumentException("Unknown value " + value + " for option " + option);
+        return type.cast(mapped);
+    }
+}
@@ -23,6 +23,8 @@ public class GameBoard implements Cloneable{
     private Integer lastMovedBox;
     private int rows;
     private int columns;
+    //detector of the search this board belongs to, shared by all the copies of the board: no detection if it's null
+    private DeadlockDetector detector;
 
     /*
         GameBoard constructor, takes a Level and uses it to initialize the instance variables.
@@ -121,7 +123,7 @@ public class GameBoard implements Cloneable{
                 swapCells(neighbour, sokobanCell);
 
                 //checking for the deadlock before telling the caller that the move was successful
-                if (!checkVictory() && DeadlockDetector.isDeadlock(this)) {
+                if (!checkVictory() && detector != null && detector.isDeadlock(this)) {
                     return false;
                 }
                 else
@@ -350,6 +352,14 @@ public class GameBoard implements Cloneable{
         return boxCells;
     }
 
+    public DeadlockDetector getDetector() {
+        return detector;
+    }
+
+    public void setDetector(DeadlockDetector detector) {
+        this.detector = detector;
+    }
+
     /*
         Returns a deep copy of a GameBoard object
     */
@@ -370,8 +380,10 @@ public class GameBoard implements Cloneable{
                     cloned.sokobanCell = copy[i][j];
                 if (copy[i][j].isGoal())
                     cloned.goalCells.add(copy[i][j]);
+                //boxes keep their numbers, since the cells carry them and moving a box updates the map through them
                 if (copy[i][j].getContent() == CellContent.BOX) {
-                    cloned.boxCells.put(countBoxes, copy[i][j]);
+                    Integer boxNumber = copy[i][j].getBoxNumber();
+                    cloned.boxCells.put(boxNumber != null ? boxNumber : countBoxes, copy[i][j]);
                     countBoxes++;
                 }
             }
@@ -1,8 +1,11 @@
 package game;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -40,15 +43,37 @@ public class Level {
             log.warning("The selected level was not found");
             e.printStackTrace();
         }
-        String jsonLevel = jsonBuilder.toString();
+        parse(jsonBuilder.toString());
 
+    }
+
+/*
+    Reads and parses a level from a json file, in the same format as the levels that come with the solver.
+    The number of moves and pushes in the best solution can be left out, in which case they're 0.
+*/
+    public Level(Path file) throws IOException {
+        StringBuilder jsonBuilder = new StringBuilder();
+        for (String line : Files.readAllLines(file))
+            jsonBuilder.append(replacePattern(line)).append("\n");
+
+        try {
+            parse(jsonBuilder.toString());
+        } catch (JsonParseException e) {
+            throw new IOException("The level in " + file + " is not valid json: " + e.getMessage(), e);
+        }
+        if (content == null || content.length < 2)
+            throw new IOException("The level in " + file + " has no content");
+    }
+
+    private void parse(String jsonLevel) {
         //Parsing the json and mapping it to the object
         Gson gson = new Gson();
         Level parsed = gson.fromJson(jsonLevel, Level.class);
+        if (parsed == null)
+            return;
         this.content = parsed.content;
         this.minPushes = parsed.minPushes;
         this.bestSolution = parsed.bestSolution;
-
     }
 
     private String replacePattern (String string) {
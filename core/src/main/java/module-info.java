@@ -0,0 +1,15 @@
+module sokobot.core {
+    requires java.logging;
+    requires java.management;
+    requires java.base;
+    requires com.google.gson;
+    //gson builds the levels through sun.misc.Unsafe, which the JavaFX modules used to bring in
+    requires jdk.unsupported;
+
+    exports game;
+    opens game;
+    exports solver;
+    opens solver;
+    exports solver.configuration;
+    opens solver.configuration to com.google.gson;
+}
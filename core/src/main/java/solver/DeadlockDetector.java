@@ -7,41 +7,57 @@ import game.GameBoard;
 import solver.configuration.DDRoutine;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
+/*
+This class detects deadlocked states during a search.
+Every search owns its own instance, configured with the routine chosen by the client and holding the dead positions
+computed for the level being solved. Only the level-independent lookup table is shared among all the instances.
+*/
 public class DeadlockDetector {
     private static Logger log = Logger.getLogger("DeadlockDetector");
-    private static DDRoutine routine = DDRoutine.ALL_ROUTINES;
-    private static int prunedNodes = 0;
-    private static ArrayList<Cell> deadCells = new ArrayList<>();
-    private static ArrayList<CellContent[][]> TwoTwoDeadlocks = new ArrayList<>();
-
-    //this structure will contain, for every box involved in a freeze deadlock, a boolean meaning whether or not
-    //these boxes are on a goal cell. If every goal cell involved in a freeze deadlock are on a goal cell (no false values)
-    //said boxes are deadlocked but we don't mind, since they're already on goal.
-    private static ArrayList<Boolean> frozenBoxesOnGoal = new ArrayList<>();
+    private static final ArrayList<CellContent[][]> TwoTwoDeadlocks = new ArrayList<>();
+    private final SolverContext context;
+    private DDRoutine routine;
+    private final AtomicInteger prunedNodes = new AtomicInteger(0);
+    private ArrayList<Cell> deadCells = new ArrayList<>();
+    //whether the dead positions are known, computed by this detector or taken from another one
+    private boolean deadPositionsKnown = false;
+
+    public DeadlockDetector(SolverContext context, DDRoutine routine) {
+        this.context = context;
+        this.routine = routine;
+        populateDeadlocks();
+    }
 
 /*
     Facade method that the client launches to get the deadlock detection routines asked by configuring the routine variable.
     Intuitively, it returns true if a deadlock was found
 */
-    public static boolean isDeadlock (GameBoard board) throws CloneNotSupportedException {
+    public boolean isDeadlock (GameBoard board) throws CloneNotSupportedException {
         if (board.getLastMovedBox() == null)
             return false;
         if (board.checkVictory())
             return false;
 
+        //this structure will contain, for every box involved in a freeze deadlock, a boolean meaning whether or not
+        //these boxes are on a goal cell. If every goal cell involved in a freeze deadlock are on a goal cell (no false values)
+        //said boxes are deadlocked but we don't mind, since they're already on goal.
+        //It's local to the single check so that concurrent checks on the same detector can't interfere with each other.
+        ArrayList<Boolean> frozenBoxesOnGoal = new ArrayList<>();
+
         switch (routine) {
             case ALL_ROUTINES : {
 
                 if (isDeadPosition(board)) return true;
                 else if (isInDeadlockTable(board)) return true;
-                else if (isFrozenBox(board.getBoxCells().get(board.getLastMovedBox()), (GameBoard) board.clone())) {
+                else if (isFrozenBox(board.getBoxCells().get(board.getLastMovedBox()), (GameBoard) board.clone(), frozenBoxesOnGoal)) {
                     //the box is certainly frozen, but we first have to check if the freeze deadlock involves boxes
                     //that aren't on a goal cell
                     if (frozenBoxesOnGoal.contains(false)) {
                         frozenBoxesOnGoal.clear();
-                        prunedNodes++;
+                        prunedNodes.incrementAndGet();
                         return true;
                     }
                     frozenBoxesOnGoal.clear();
@@ -54,10 +70,10 @@ public class DeadlockDetector {
             }
             case FROZEN_BOXES : {
 
-                if (isFrozenBox(board.getBoxCells().get(board.getLastMovedBox()), (GameBoard) board.clone())) {
+                if (isFrozenBox(board.getBoxCells().get(board.getLastMovedBox()), (GameBoard) board.clone(), frozenBoxesOnGoal)) {
                     if (frozenBoxesOnGoal.contains(false)) {
                         frozenBoxesOnGoal.clear();
-                        prunedNodes++;
+                        prunedNodes.incrementAndGet();
                         return true;
                     }
                     frozenBoxesOnGoal.clear();
@@ -82,7 +98,7 @@ public class DeadlockDetector {
     
     //FROZEN BOXES
 
-    private static boolean isFrozenBox(Cell box, GameBoard board) throws CloneNotSupportedException {
+    private static boolean isFrozenBox(Cell box, GameBoard board, ArrayList<Boolean> frozenBoxesOnGoal) throws CloneNotSupportedException {
         boolean frozen;
 
         //Horizontal checks
@@ -90,9 +106,9 @@ public class DeadlockDetector {
         if (!frozen) {
             box.setContent(CellContent.WALL);
             if (board.getEast(box).getContent() == CellContent.BOX)
-                frozen = isFrozenBox(board.getEast(box), board);
+                frozen = isFrozenBox(board.getEast(box), board, frozenBoxesOnGoal);
             if (board.getWest(box).getContent() == CellContent.BOX)
-                frozen = isFrozenBox(board.getWest(box), board);
+                frozen = isFrozenBox(board.getWest(box), board, frozenBoxesOnGoal);
             box.setContent(CellContent.BOX);
         }
 
@@ -104,9 +120,9 @@ public class DeadlockDetector {
         if (!frozen) {
             box.setContent(CellContent.WALL);
             if (board.getNorth(box).getContent() == CellContent.BOX)
-                frozen = isFrozenBox(board.getNorth(box), board);
+                frozen = isFrozenBox(board.getNorth(box), board, frozenBoxesOnGoal);
             if (board.getSouth(box).getContent() == CellContent.BOX)
-                frozen = isFrozenBox(board.getSouth(box), board);
+                frozen = isFrozenBox(board.getSouth(box), board, frozenBoxesOnGoal);
             box.setContent(CellContent.BOX);
         }
 
@@ -152,13 +168,13 @@ public class DeadlockDetector {
     if said cell is in the list.
     In other words, we're checking if we just pushed a box into a dead position.
 */
-    public static boolean isDeadPosition(GameBoard board) {
+    public boolean isDeadPosition(GameBoard board) {
 
         int boxNumber =  board.getLastMovedBox();
         Cell lastMoved = board.getBoxCells().get(boxNumber);
 
         if (deadCells.contains(lastMoved)) {
-            prunedNodes++;
+            prunedNodes.incrementAndGet();
             return true;
         }
         else
@@ -170,14 +186,17 @@ public class DeadlockDetector {
         It empties the level and tries to put a box in every position, one at a time, to check if said position is dead
         adding dead positions to a list that will be consulted whenever we push a box during the solution searching,
     */
-    public static void handleDeadPositions(GameBoard toSolve) throws CloneNotSupportedException {
-        Node node = new Node(toSolve, new ArrayList<>());
+    public void handleDeadPositions(GameBoard toSolve) throws CloneNotSupportedException {
+        deadCells.clear();
+        deadPositionsKnown = true;
+        Node node = new Node(toSolve, new ArrayList<>(), context);
 
         //Clearing the node's game board
         HashMap<Integer, Cell> boxCells = node.getGame().getBoxCells();
         int target = boxCells.size();
         for (int i = 0; i<target; i++) {
             boxCells.get(i).setContent(CellContent.EMPTY);
+            boxCells.get(i).setBoxNumber(null);
             boxCells.remove(i);
 
         }
@@ -196,16 +215,18 @@ public class DeadlockDetector {
 
                     //we put a box here (the rest of the board will be empty)
                     board[i][j].setContent(CellContent.BOX);
+                    board[i][j].setBoxNumber(0);
                     boxCells.put(0, board[i][j]);
 
                     //adding a cell to the dead positions' list if the box we just placed can't be pushed to a goal
-                    if (searchDeadPosition(new Node(toSolve, new ArrayList<>()))) {
+                    if (searchDeadPosition(new Node(toSolve, new ArrayList<>(), context))) {
                         deadCells.add((Cell) board[i][j].clone());
                     }
 
                     //removing the box to prepare for the next iteration, where a new position will be tried
                     boxCells.remove(0);
                     board[i][j].setContent(CellContent.EMPTY);
+                    board[i][j].setBoxNumber(null);
                 }
 
             }
@@ -301,7 +322,7 @@ public class DeadlockDetector {
 
     // Checks if, after a push, there's a submatrix along the push direction that matches
     // a pre-stored deadlock configuration
-    private static boolean isInDeadlockTable(GameBoard board) {
+    private boolean isInDeadlockTable(GameBoard board) {
         
         Cell box = board.getBoxCells().get(board.getLastMovedBox());
 
@@ -397,7 +418,7 @@ public class DeadlockDetector {
         if (allBoxesSecond) return false;
 
         if (tableCheck(first) || tableCheck(second)) {
-            prunedNodes++;
+            prunedNodes.incrementAndGet();
             return true;
         }
         else
@@ -420,9 +441,13 @@ public class DeadlockDetector {
     }
 
 /*
-    Inserting some deadlocks into the lookup table
+    Inserting some deadlocks into the lookup table.
+    The table doesn't depend on the level, so it's only populated once and then shared by every detector.
 */
-    public static void populateDeadlocks () {
+    public static synchronized void populateDeadlocks () {
+        if (!TwoTwoDeadlocks.isEmpty())
+            return;
+
         CellContent[][] deadlock = parseDeadlock(CellContent.WALL, CellContent.WALL,
                 CellContent.WALL, CellContent.BOX);
         TwoTwoDeadlocks.add(deadlock);
@@ -497,19 +522,39 @@ public class DeadlockDetector {
 
 
 
+/*
+    Takes the dead positions found by another detector, for a board with the same walls or fewer and the same goals or
+    more than the one of this detector: a box can't be pushed to a goal from those positions here either.
+    The positions that are only dead on this board are missed, but there's no need to compute them again.
+*/
+    public void inheritDeadPositions(DeadlockDetector other) {
+        deadCells = new ArrayList<>(other.deadCells);
+        deadPositionsKnown = other.deadPositionsKnown;
+    }
+
     //GETTERS AND SETTERS
 
-    public static int getPrunedNodes() {
-        return prunedNodes;
+    public boolean isDeadPositionsKnown() {
+        return deadPositionsKnown;
+    }
+
+
+    public int getPrunedNodes() {
+        return prunedNodes.get();
+    }
+
+    public void setPrunedNodes(int prunedNodes) {
+        this.prunedNodes.set(prunedNodes);
     }
 
-    public static void setPrunedNodes(int prunedNodes) {
-        DeadlockDetector.prunedNodes = prunedNodes;
+    public DDRoutine getRoutine() {
+        return routine;
     }
 
-    public static void setRoutine(DDRoutine routine) {
-        DeadlockDetector.routine = routine;
+    public void setRoutine(DDRoutine routine) {
+        this.routine = routine;
         deadCells.clear();
+        deadPositionsKnown = false;
     }
 
 }
@@ -0,0 +1,398 @@
+package solver;
+
+import game.Action;
+import game.Cell;
+import game.CellContent;
+import game.GameBoard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.logging.Logger;
+
+/*
+Goal room of a level: a part of the board holding goals that can only be entered through a single cell, its entrance.
+Rooms are found once before the search starts, together with an order to fill their goals in that never walls off
+a goal that's still empty. The order is computed by reverse search: starting from the room with all of its goals taken,
+a goal can be the last one to be filled if a box standing on the entrance can still be pushed on it while all the
+others are in place, and so on until the room is empty again.
+During push-based expansion, a box pushed on the entrance from outside the room is taken straight to the next goal
+of the order in a single macro push, so the search never has to work out the packing order by itself.
+*/
+public class GoalRoom {
+    private static final Logger log = Logger.getLogger("GoalRoom");
+    private static final Action[] DIRECTIONS = {Action.MOVE_UP, Action.MOVE_DOWN, Action.MOVE_LEFT, Action.MOVE_RIGHT};
+    //the reverse search keeps the set of goals taken in a bit mask
+    private static final int MAX_GOALS = 63;
+
+    private final int entranceRow;
+    private final int entranceColumn;
+    private final boolean[][] cells;
+    //goals of the room, as {row, column}, in the order they have to be filled
+    private final ArrayList<int[]> order;
+
+    private GoalRoom(int entranceRow, int entranceColumn, boolean[][] cells, ArrayList<int[]> order) {
+        this.entranceRow = entranceRow;
+        this.entranceColumn = entranceColumn;
+        this.cells = cells;
+        this.order = order;
+    }
+
+/*
+    Finds the goal rooms of a level in its starting state.
+    Every floor cell that splits the board in more parts is a candidate entrance, and every part behind it holding
+    goals but no boxes and not Sokoban is a candidate room. Smaller rooms are preferred, so that the entrance is the
+    door of the room and not the start of a corridor leading to it, and rooms can't overlap.
+*/
+    public static ArrayList<GoalRoom> find(GameBoard game) {
+        int rows = game.getRows();
+        int columns = game.getColumns();
+        boolean[][] walls = new boolean[rows][columns];
+        int floor = 0;
+        for (Cell[] row : game.getBoard()) {
+            for (Cell c : row) {
+                walls[c.getRow()][c.getColumn()] = c.getContent() == CellContent.WALL;
+                if (c.getContent() != CellContent.WALL)
+                    floor++;
+            }
+        }
+
+        ArrayList<GoalRoom> candidates = new ArrayList<>();
+        for (Cell[] row : game.getBoard()) {
+            for (Cell entrance : row) {
+                if (entrance.getContent() == CellContent.WALL || entrance.isGoal())
+                    continue;
+
+                boolean[][] seen = new boolean[rows][columns];
+                seen[entrance.getRow()][entrance.getColumn()] = true;
+                for (Action d : DIRECTIONS) {
+                    int r = entrance.getRow() + rowStep(d);
+                    int c = entrance.getColumn() + columnStep(d);
+                    if (!inside(walls, r, c) || walls[r][c] || seen[r][c])
+                        continue;
+
+                    ArrayList<int[]> part = flood(walls, seen, r, c);
+                    //the entrance doesn't split the board
+                    if (part.size() == floor - 1)
+                        break;
+
+                    GoalRoom room = candidate(game, entrance, part);
+                    if (room != null)
+                        candidates.add(room);
+                }
+            }
+        }
+
+        //keeping the smallest rooms among the ones overlapping each other
+        candidates.sort(Comparator.comparingInt(GoalRoom::size));
+        ArrayList<GoalRoom> rooms = new ArrayList<>();
+        for (GoalRoom candidate : candidates) {
+            boolean overlapping = false;
+            for (GoalRoom room : rooms)
+                overlapping |= candidate.overlaps(room);
+            if (overlapping)
+                continue;
+
+            ArrayList<int[]> order = fillOrder(walls, candidate);
+            if (order == null)
+                continue;
+            candidate.order.addAll(order);
+            rooms.add(candidate);
+            log.info("Goal room with " + order.size() + " goals and entrance in (" +
+                    candidate.entranceRow + ", " + candidate.entranceColumn + ")");
+        }
+
+        return rooms;
+    }
+
+/*
+    Checks if the box just pushed in the given direction was pushed on the entrance from outside the room and, if so,
+    returns the pushes that take it to the next goal to fill.
+    It returns null if the macro doesn't apply: the room is full, it holds boxes out of the fill order, or the next
+    goal can't be reached in the current state.
+*/
+    public ArrayList<Action> macroPushes(GameBoard game, Action push) {
+        Cell sokoban = game.getSokobanCell();
+        int boxRow = sokoban.getRow() + rowStep(push);
+        int boxColumn = sokoban.getColumn() + columnStep(push);
+        if (boxRow != entranceRow || boxColumn != entranceColumn || cells[sokoban.getRow()][sokoban.getColumn()])
+            return null;
+
+        Cell[][] board = game.getBoard();
+        if (board[boxRow][boxColumn].getContent() != CellContent.BOX)
+            return null;
+
+        //the goals taken must be the first ones of the order, with no other box in the room
+        int filled = 0;
+        while (filled < order.size() && board[order.get(filled)[0]][order.get(filled)[1]].getContent() == CellContent.BOX)
+            filled++;
+        int boxes = 0;
+        for (int r = 0; r < cells.length; r++) {
+            for (int c = 0; c < cells[r].length; c++) {
+                if (cells[r][c] && board[r][c].getContent() == CellContent.BOX)
+                    boxes++;
+            }
+        }
+        if (boxes != filled || filled == order.size())
+            return null;
+
+        boolean[][] blocked = new boolean[game.getRows()][game.getColumns()];
+        for (Cell[] row : board) {
+            for (Cell c : row) {
+                blocked[c.getRow()][c.getColumn()] = c.getContent() == CellContent.WALL ||
+                        (c.getContent() == CellContent.BOX && (c.getRow() != boxRow || c.getColumn() != boxColumn));
+            }
+        }
+
+        int[] target = order.get(filled);
+        return pushBox(blocked, boxRow, boxColumn, sokoban.getRow(), sokoban.getColumn(), target[0], target[1]);
+    }
+
+/*
+    Returns the cell next to the given one in the given direction, or null if it's off the board
+*/
+    public static Cell neighbour(GameBoard game, Cell given, Action direction) {
+        switch (direction) {
+            case MOVE_UP: return game.getNorth(given);
+            case MOVE_DOWN: return game.getSouth(given);
+            case MOVE_LEFT: return game.getWest(given);
+            default: return game.getEast(given);
+        }
+    }
+
+    public Cell getEntrance(GameBoard game) {
+        return game.getBoard()[entranceRow][entranceColumn];
+    }
+
+/*
+    Builds a candidate room out of a part of the board cut off by the entrance, if it holds goals and nothing else
+*/
+    private static GoalRoom candidate(GameBoard game, Cell entrance, ArrayList<int[]> part) {
+        boolean[][] cells = new boolean[game.getRows()][game.getColumns()];
+        boolean goals = false;
+        for (int[] p : part) {
+            Cell c = game.getBoard()[p[0]][p[1]];
+            if (c.getContent() == CellContent.BOX || c.getContent() == CellContent.SOKOBAN)
+                return null;
+            goals |= c.isGoal();
+            cells[p[0]][p[1]] = true;
+        }
+
+        ArrayList<int[]> goalCells = new ArrayList<>();
+        for (int[] p : part) {
+            if (game.getBoard()[p[0]][p[1]].isGoal())
+                goalCells.add(p);
+        }
+        if (!goals || goalCells.size() > MAX_GOALS)
+            return null;
+
+        GoalRoom room = new GoalRoom(entrance.getRow(), entrance.getColumn(), cells, new ArrayList<>());
+        room.order.addAll(goalCells);
+        return room;
+    }
+
+/*
+    Reverse search for the fill order of the goals of a room, that are temporarily held in its order list.
+    Sokoban starts on any cell next to the entrance outside the room, and is kept inside the room after that.
+*/
+    private static ArrayList<int[]> fillOrder(boolean[][] walls, GoalRoom room) {
+        ArrayList<int[]> goals = new ArrayList<>(room.order);
+        room.order.clear();
+
+        //cells Sokoban can walk on: the room, the entrance and the cells right outside it
+        boolean[][] walkable = new boolean[walls.length][walls[0].length];
+        ArrayList<int[]> starts = new ArrayList<>();
+        walkable[room.entranceRow][room.entranceColumn] = true;
+        for (int r = 0; r < walls.length; r++) {
+            for (int c = 0; c < walls[r].length; c++)
+                walkable[r][c] |= room.cells[r][c];
+        }
+        for (Action d : DIRECTIONS) {
+            int r = room.entranceRow + rowStep(d);
+            int c = room.entranceColumn + columnStep(d);
+            if (inside(walls, r, c) && !walls[r][c] && !room.cells[r][c]) {
+                walkable[r][c] = true;
+                starts.add(new int[]{r, c});
+            }
+        }
+
+        ArrayList<int[]> order = new ArrayList<>();
+        long full = goals.size() == 64 ? -1L : (1L << goals.size()) - 1;
+        if (unfill(full, goals, walkable, starts, room, new HashSet<>(), order))
+            return order;
+        return null;
+    }
+
+/*
+    Empties the room one goal at a time: the goal taken out is the last one filled among the ones in the mask, and the
+    goals are added to the order as the recursion unwinds, from the first one to fill to the last one
+*/
+    private static boolean unfill(long filled, ArrayList<int[]> goals, boolean[][] walkable, ArrayList<int[]> starts,
+                                  GoalRoom room, HashSet<Long> failed, ArrayList<int[]> order) {
+        if (filled == 0)
+            return true;
+        if (failed.contains(filled))
+            return false;
+
+        for (int i = 0; i < goals.size(); i++) {
+            if ((filled & (1L << i)) == 0)
+                continue;
+
+            boolean[][] blocked = new boolean[walkable.length][walkable[0].length];
+            for (int r = 0; r < walkable.length; r++) {
+                for (int c = 0; c < walkable[r].length; c++)
+                    blocked[r][c] = !walkable[r][c];
+            }
+            for (int j = 0; j < goals.size(); j++) {
+                if (j != i && (filled & (1L << j)) != 0)
+                    blocked[goals.get(j)[0]][goals.get(j)[1]] = true;
+            }
+
+            boolean fillable = false;
+            for (int[] s : starts) {
+                fillable |= pushBox(blocked, room.entranceRow, room.entranceColumn, s[0], s[1],
+                        goals.get(i)[0], goals.get(i)[1]) != null;
+            }
+
+            if (fillable && unfill(filled & ~(1L << i), goals, walkable, starts, room, failed, order)) {
+                order.add(goals.get(i));
+                return true;
+            }
+        }
+
+        failed.add(filled);
+        return false;
+    }
+
+/*
+    BFS on the pushes of a single box among fixed obstacles. It returns the shortest sequence of pushes that takes the
+    box to the target, or null if there's none. Two states are the same if the box is in the same place and Sokoban
+    can reach the same cells, like in the push-based expansion of the search.
+*/
+    private static ArrayList<Action> pushBox(boolean[][] blocked, int boxRow, int boxColumn, int playerRow, int playerColumn,
+                                             int targetRow, int targetColumn) {
+        class PushState {
+            final int box;
+            final int player;
+            final PushState parent;
+            final Action push;
+
+            PushState(int box, int player, PushState parent, Action push) {
+                this.box = box;
+                this.player = player;
+                this.parent = parent;
+                this.push = push;
+            }
+        }
+
+        int columns = blocked[0].length;
+        int cellCount = blocked.length * columns;
+        HashSet<Long> visited = new HashSet<>();
+        ArrayDeque<PushState> queue = new ArrayDeque<>();
+        queue.add(new PushState(boxRow * columns + boxColumn, playerRow * columns + playerColumn, null, null));
+
+        while (!queue.isEmpty()) {
+            PushState s = queue.poll();
+            int r = s.box / columns;
+            int c = s.box % columns;
+            if (r == targetRow && c == targetColumn) {
+                ArrayList<Action> pushes = new ArrayList<>();
+                for (PushState p = s; p.parent != null; p = p.parent)
+                    pushes.add(0, p.push);
+                return pushes;
+            }
+
+            boolean[][] reachable = reach(blocked, r, c, s.player / columns, s.player % columns);
+            int first = cellCount;
+            for (int i = 0; i < cellCount && first == cellCount; i++) {
+                if (reachable[i / columns][i % columns])
+                    first = i;
+            }
+            if (!visited.add((long) s.box * cellCount + first))
+                continue;
+
+            for (Action d : DIRECTIONS) {
+                int behindRow = r - rowStep(d);
+                int behindColumn = c - columnStep(d);
+                int aheadRow = r + rowStep(d);
+                int aheadColumn = c + columnStep(d);
+                if (!inside(blocked, behindRow, behindColumn) || !inside(blocked, aheadRow, aheadColumn) ||
+                        !reachable[behindRow][behindColumn] || blocked[aheadRow][aheadColumn])
+                    continue;
+                queue.add(new PushState(aheadRow * columns + aheadColumn, s.box, s, d));
+            }
+        }
+
+        return null;
+    }
+
+/*
+    Flood fill of the cells Sokoban can reach, with the box as the only obstacle besides the blocked cells
+*/
+    private static boolean[][] reach(boolean[][] blocked, int boxRow, int boxColumn, int playerRow, int playerColumn) {
+        boolean[][] seen = new boolean[blocked.length][blocked[0].length];
+        seen[boxRow][boxColumn] = true;
+        flood(blocked, seen, playerRow, playerColumn);
+        seen[boxRow][boxColumn] = false;
+        return seen;
+    }
+
+/*
+    Flood fill from a cell over the cells that aren't blocked or already seen, marking them as seen
+*/
+    private static ArrayList<int[]> flood(boolean[][] blocked, boolean[][] seen, int row, int column) {
+        ArrayList<int[]> filled = new ArrayList<>();
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        seen[row][column] = true;
+        queue.add(new int[]{row, column});
+
+        while (!queue.isEmpty()) {
+            int[] p = queue.poll();
+            filled.add(p);
+            for (Action d : DIRECTIONS) {
+                int r = p[0] + rowStep(d);
+                int c = p[1] + columnStep(d);
+                if (inside(blocked, r, c) && !blocked[r][c] && !seen[r][c]) {
+                    seen[r][c] = true;
+                    queue.add(new int[]{r, c});
+                }
+            }
+        }
+
+        return filled;
+    }
+
+    private int size() {
+        int size = 0;
+        for (boolean[] row : cells) {
+            for (boolean c : row)
+                size += c ? 1 : 0;
+        }
+        return size;
+    }
+
+    private boolean overlaps(GoalRoom other) {
+        if (cells[other.entranceRow][other.entranceColumn] || other.cells[entranceRow][entranceColumn])
+            return true;
+        for (int r = 0; r < cells.length; r++) {
+            for (int c = 0; c < cells[r].length; c++) {
+                if (cells[r][c] && other.cells[r][c])
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean inside(boolean[][] grid, int row, int column) {
+        return row >= 0 && row < grid.length && column >= 0 && column < grid[row].length;
+    }
+
+    private static int rowStep(Action direction) {
+        return direction == Action.MOVE_UP ? -1 : direction == Action.MOVE_DOWN ? 1 : 0;
+    }
+
+    private static int columnStep(Action direction) {
+        return direction == Action.MOVE_LEFT ? -1 : direction == Action.MOVE_RIGHT ? 1 : 0;
+    }
+}
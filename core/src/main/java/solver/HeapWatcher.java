@@ -0,0 +1,88 @@
+package solver;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.logging.Logger;
+
+/*
+Watches the heap on behalf of a search through the notifications of the memory pools, so that the search doesn't
+have to do any work of its own to notice it's running out of memory: it only checks a flag.
+Only the collection usage thresholds are watched, the heap left in use right after a collection: before it, the usage
+counts all the garbage waiting to be collected and says nothing about the memory the search really holds.
+The thresholds are set on the heap pools of the JVM, and they're shared by all the watchers: a pool keeps the lowest
+threshold asked for, and every watcher checks the usage notified against its own.
+*/
+public class HeapWatcher {
+    private static final Logger log = Logger.getLogger("HeapWatcher");
+    //kept private, so that the JMX types don't show in the API of the watcher
+    private final NotificationListener listener = this::handleNotification;
+
+    //share of the maximum size of a pool that counts as heap pressure
+    private final double threshold;
+    private volatile boolean pressure = false;
+    private boolean started = false;
+
+    public HeapWatcher(double threshold) {
+        this.threshold = threshold;
+    }
+
+/*
+    Sets the collection usage thresholds of the heap pools and starts listening to their notifications
+*/
+    public void start() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getUsage();
+            if (pool.getType() != MemoryType.HEAP || !pool.isCollectionUsageThresholdSupported() || usage == null ||
+                    usage.getMax() <= 0)
+                continue;
+
+            long bytes = (long) (usage.getMax() * threshold);
+            synchronized (HeapWatcher.class) {
+                if (pool.getCollectionUsageThreshold() == 0 || pool.getCollectionUsageThreshold() > bytes)
+                    pool.setCollectionUsageThreshold(bytes);
+            }
+        }
+
+        ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(listener, null, null);
+        started = true;
+    }
+
+/*
+    Stops listening to the notifications. The thresholds of the pools are left where they are, since other watchers
+    may rely on them.
+*/
+    public void stop() {
+        if (!started)
+            return;
+        try {
+            ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(listener);
+        } catch (ListenerNotFoundException e) {
+            log.warning("The heap watcher was already removed");
+        }
+        started = false;
+    }
+
+    private void handleNotification(Notification notification, Object handback) {
+        if (!notification.getType().equals(MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED))
+            return;
+
+        MemoryNotificationInfo info = MemoryNotificationInfo.from((CompositeData) notification.getUserData());
+        MemoryUsage usage = info.getUsage();
+        if (usage.getMax() > 0 && usage.getUsed() >= usage.getMax() * threshold) {
+            log.info("Heap pressure on " + info.getPoolName() + ": " + usage.getUsed() + " bytes used out of " + usage.getMax());
+            pressure = true;
+        }
+    }
+
+    public boolean isUnderPressure() {
+        return pressure;
+    }
+}
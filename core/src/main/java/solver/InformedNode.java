@@ -12,11 +12,14 @@ This class extends a node by adding fields that are needed for informed search a
 public class InformedNode extends Node{
     private Node parent;
     private int label;
+    //second component of the label, only looked at between nodes with the same label: it's the f(n) of the moves under
+    //the pushes-then-moves cost model, 0 otherwise
+    private int secondaryLabel = 0;
     private Long hash = 0L;
 
     //constructs a new extended node from scratch
-    public InformedNode(GameBoard game, ArrayList<Action> actions, Node parent, int label) throws CloneNotSupportedException {
-        super(game, actions);
+    public InformedNode(GameBoard game, ArrayList<Action> actions, Node parent, int label, SolverContext context) throws CloneNotSupportedException {
+        super(game, actions, context);
         this.parent = parent;
         this.label = label;
         this.hash = this.hash();
@@ -24,7 +27,7 @@ public class InformedNode extends Node{
 
     //constructs an extended node starting from a Node
     public InformedNode(Node node, Node parent, int label) throws CloneNotSupportedException {
-        super(node.getGame(), node.getActionHistory());
+        super(node.getGame(), node.getActionHistory(), node.getContext());
         this.setPathCost(node.getPathCost());
         this.parent = parent;
         this.label = label;
@@ -47,6 +50,26 @@ public class InformedNode extends Node{
         this.label = label;
     }
 
+    public int getSecondaryLabel() {
+        return secondaryLabel;
+    }
+
+    public void setSecondaryLabel(int secondaryLabel) {
+        this.secondaryLabel = secondaryLabel;
+    }
+
+/*
+    Packs the label and its second component into a single key, so that comparing keys compares the labels first
+    and the second components after that
+*/
+    public long getOrderingKey() {
+        return orderingKey(label, secondaryLabel);
+    }
+
+    public static long orderingKey(int label, int secondaryLabel) {
+        return ((long) label << 32) | (secondaryLabel & 0xFFFFFFFFL);
+    }
+
     public Long getHash () throws CloneNotSupportedException {
         if (hash != null)
             return hash;
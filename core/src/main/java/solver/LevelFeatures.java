@@ -0,0 +1,69 @@
+package solver;
+
+import game.Cell;
+import game.CellContent;
+import game.GameBoard;
+
+/*
+Cheap features of a level, extracted from its starting state.
+They're used to pick a configuration for the level automatically: none of them takes more than a flood fill or a
+single heuristic estimate to compute.
+*/
+public class LevelFeatures {
+    private final int boxes;
+    private final int floor;
+    private final double tunnelRatio;
+    private final boolean goalRoom;
+    private final int lowerBound;
+
+    public LevelFeatures(GameBoard game) {
+        TunnelMap tunnels = new TunnelMap(game);
+        int boxes = 0;
+        int floor = 0;
+        int tunnelCells = 0;
+        for (Cell[] row : game.getBoard()) {
+            for (Cell c : row) {
+                if (c.getContent() == CellContent.WALL)
+                    continue;
+                floor++;
+                if (c.getContent() == CellContent.BOX)
+                    boxes++;
+                if (tunnels.isTunnel(c.getRow(), c.getColumn()))
+                    tunnelCells++;
+            }
+        }
+
+        this.boxes = boxes;
+        this.floor = floor;
+        this.tunnelRatio = floor == 0 ? 0 : (double) tunnelCells / floor;
+        this.goalRoom = !GoalRoom.find(game).isEmpty();
+        this.lowerBound = SokobanToolkit.estimateLowerBound(game);
+    }
+
+    public int getBoxes() {
+        return boxes;
+    }
+
+    public int getFloor() {
+        return floor;
+    }
+
+    //share of the floor cells that are part of a tunnel
+    public double getTunnelRatio() {
+        return tunnelRatio;
+    }
+
+    public boolean hasGoalRoom() {
+        return goalRoom;
+    }
+
+    public int getLowerBound() {
+        return lowerBound;
+    }
+
+    @Override
+    public String toString() {
+        return "boxes " + boxes + ", floor " + floor + String.format(", tunnel ratio %.2f", tunnelRatio) +
+                ", goal room " + goalRoom + ", lower bound " + lowerBound;
+    }
+}
@@ -19,19 +19,19 @@ It also implements node expansion algorithms.
 */
 public class Node {
     private static Logger log = Logger.getLogger("Node");
-    //maximum depth reached by the search at a certain point in time
-    protected static int depth;
-    protected static ExpansionScheme expansionScheme;
+    //the search this node belongs to, holding the expansion scheme, the counters and the detector
+    protected SolverContext context;
     protected GameBoard game;
     protected int pathCost;
     protected ArrayList<Action> actionHistory = new ArrayList<>();
 
     public Node(){};
 
-    public Node(GameBoard game, ArrayList<Action> actions) {
+    public Node(GameBoard game, ArrayList<Action> actions, SolverContext context) {
         this.game = game;
         this.actionHistory = actions;
         this.pathCost = 0;
+        this.context = context;
     }
 
 /*
@@ -41,18 +41,18 @@ public class Node {
 */
     public Collection<? extends Node> expand() throws CloneNotSupportedException {
         ArrayList<Node> expanded;
-        if (expansionScheme == ExpansionScheme.MOVE_BASED)
+        if (context.getExpansionScheme() == ExpansionScheme.MOVE_BASED)
             expanded = (ArrayList<Node>) this.expandByMoves();
         else
             expanded = (ArrayList<Node>) this.expandByPushes();
 
-        //incrementing the path cost of the new nodes
+        //incrementing the path cost of the new nodes, on top of the extra pushes made by macro pushes
         for (Node n : expanded) {
-            n.pathCost = this.pathCost + 1;
+            n.pathCost += this.pathCost + 1;
         }
 
-        if (!expanded.isEmpty() && expanded.get(0).pathCost > depth)
-            depth = expanded.get(0).pathCost;
+        if (!expanded.isEmpty())
+            context.updateDeepest(expanded.get(0));
 
         return expanded;
     }
@@ -76,7 +76,7 @@ public class Node {
 
             neighbour = initialState.getNorth(boxes.get(boxKey));
             oppositeNeighbour = initialState.getSouth(boxes.get(boxKey));
-            Node down = new Node((GameBoard) initialState.clone(), (ArrayList<Action>) this.getActionHistory().clone());
+            Node down = new Node((GameBoard) initialState.clone(), (ArrayList<Action>) this.getActionHistory().clone(), context);
             //checking if two opposite cells adjacent to the box are either empty or contain sokoban: that's the only way we can push the box
             if ((neighbour.getContent() == CellContent.EMPTY || neighbour.getContent() == CellContent.SOKOBAN) &&
                     (oppositeNeighbour.getContent() == CellContent.EMPTY || oppositeNeighbour.getContent() == CellContent.SOKOBAN)) {
@@ -95,7 +95,7 @@ public class Node {
 
             neighbour = initialState.getSouth(boxes.get(boxKey));
             oppositeNeighbour = initialState.getNorth(boxes.get(boxKey));
-            Node up = new Node((GameBoard) initialState.clone(), (ArrayList<Action>) this.getActionHistory().clone());
+            Node up = new Node((GameBoard) initialState.clone(), (ArrayList<Action>) this.getActionHistory().clone(), context);
             if ((neighbour.getContent() == CellContent.EMPTY || neighbour.getContent() == CellContent.SOKOBAN) &&
                     (oppositeNeighbour.getContent() == CellContent.EMPTY || oppositeNeighbour.getContent() == CellContent.SOKOBAN)) {
 
@@ -106,7 +106,7 @@ public class Node {
 
             neighbour = initialState.getEast(boxes.get(boxKey));
             oppositeNeighbour = initialState.getWest(boxes.get(boxKey));
-            Node left = new Node((GameBoard) initialState.clone(), (ArrayList<Action>) this.getActionHistory().clone());
+            Node left = new Node((GameBoard) initialState.clone(), (ArrayList<Action>) this.getActionHistory().clone(), context);
             if ((neighbour.getContent() == CellContent.EMPTY || neighbour.getContent() == CellContent.SOKOBAN) &&
                     (oppositeNeighbour.getContent() == CellContent.EMPTY || oppositeNeighbour.getContent() == CellContent.SOKOBAN)) {
 
@@ -118,7 +118,7 @@ public class Node {
 
             neighbour = initialState.getWest(boxes.get(boxKey));
             oppositeNeighbour = initialState.getEast(boxes.get(boxKey));
-            Node right = new Node((GameBoard) initialState.clone(), (ArrayList<Action>) this.getActionHistory().clone());
+            Node right = new Node((GameBoard) initialState.clone(), (ArrayList<Action>) this.getActionHistory().clone(), context);
             if ((neighbour.getContent() == CellContent.EMPTY || neighbour.getContent() == CellContent.SOKOBAN) &&
                     (oppositeNeighbour.getContent() == CellContent.EMPTY || oppositeNeighbour.getContent() == CellContent.SOKOBAN)) {
 
@@ -150,13 +150,85 @@ public class Node {
             if (!executeMove(newState, action))
                 return false;
 
-            if (newState.game.getLastMovedBox() != null)
+            if (newState.game.getLastMovedBox() != null) {
+                pushThroughTunnel(newState, action);
+                pushIntoGoalRoom(newState, action);
                 return true;
+            }
         }
 
         return false;
     }
 
+/*
+    Macro push: keeps pushing a box that got into a tunnel until it comes out, or until a push would be a deadlock.
+    Every extra push is counted in the path cost of the new state.
+*/
+    private void pushThroughTunnel (Node newState, Action action) throws CloneNotSupportedException {
+        TunnelMap tunnels = context.getTunnels();
+        if (tunnels == null)
+            return;
+
+        while (tunnels.continuesThrough(newState.game, action)) {
+            //pushing on a copy, so that the state before a deadlock isn't lost
+            GameBoard next = (GameBoard) newState.game.clone();
+            if (!next.takeAction(action))
+                return;
+            newState.game = next;
+            newState.actionHistory.add(action);
+            newState.pathCost++;
+        }
+    }
+
+/*
+    Goal macro: a box pushed on the entrance of a goal room goes straight to the next goal to fill in the room.
+    The pushes are made on a copy of the board, so the plain push is kept if any of them fails.
+*/
+    private void pushIntoGoalRoom (Node newState, Action action) throws CloneNotSupportedException {
+        List<GoalRoom> rooms = context.getGoalRooms();
+        if (rooms == null)
+            return;
+
+        for (GoalRoom room : rooms) {
+            ArrayList<Action> pushes = room.macroPushes(newState.game, action);
+            if (pushes == null)
+                continue;
+
+            GameBoard next = (GameBoard) newState.game.clone();
+            ArrayList<Action> moves = new ArrayList<>();
+            Cell box = room.getEntrance(next);
+            for (Action push : pushes) {
+                //reaching the cell behind the box, then pushing it
+                Cell behind = GoalRoom.neighbour(next, box, opposite(push));
+                ArrayList<Action> path = SokobanToolkit.searchPath((GameBoard) next.clone(), (Cell) behind.clone());
+                if (path == null)
+                    return;
+                for (Action a : path) {
+                    next.takeAction(a);
+                }
+                if (!next.takeAction(push))
+                    return;
+                moves.addAll(path);
+                moves.add(push);
+                box = GoalRoom.neighbour(next, box, push);
+            }
+
+            newState.game = next;
+            newState.actionHistory.addAll(moves);
+            newState.pathCost += pushes.size();
+            return;
+        }
+    }
+
+    private static Action opposite (Action action) {
+        switch (action) {
+            case MOVE_UP: return Action.MOVE_DOWN;
+            case MOVE_DOWN: return Action.MOVE_UP;
+            case MOVE_LEFT: return Action.MOVE_RIGHT;
+            default: return Action.MOVE_LEFT;
+        }
+    }
+
     //Node expansion, with expansion by moving the character
     //It simply takes a node in input and creates a collection of nodes representing a maximum of 4 states relative to the
     //4 possible moves of Sokoban. Of course, if a move is not legal it would generate the same node as the input node,
@@ -166,39 +238,35 @@ public class Node {
     private Collection<? extends Node> expandByMoves() throws CloneNotSupportedException {
         ArrayList<Node> expanded = new ArrayList<>();
 
-        Node first = new Node((GameBoard) this.getGame().clone(), (ArrayList<Action>) this.getActionHistory().clone());
+        Node first = new Node((GameBoard) this.getGame().clone(), (ArrayList<Action>) this.getActionHistory().clone(), context);
         //Checkin if the move is legal and we execute it, then we check if the generated state was already discovered
         if (executeMove(first, Action.MOVE_DOWN)) {
             expanded.add(first);
-            //If we reached a new maximum depth in the search, we keep note of it in depth. a static variable of Node
-            if (first.getActionHistory().size() > depth)
-                depth = first.getActionHistory().size();
+            //If we reached a new maximum depth in the search, we keep note of it in the context of the search
+            context.updateDepth(first.getActionHistory().size());
         }
 
         //Same as before with other directions.
         //Generalizing this stuff to avoid repeated code is possible but not worth the time investment.
 
-        Node second = new Node((GameBoard) this.getGame().clone(), (ArrayList<Action>) this.getActionHistory().clone());
+        Node second = new Node((GameBoard) this.getGame().clone(), (ArrayList<Action>) this.getActionHistory().clone(), context);
         if (executeMove(second, Action.MOVE_UP)) {
             expanded.add(second);
-            if (second.getActionHistory().size() > depth)
-                depth = second.getActionHistory().size();
+            context.updateDepth(second.getActionHistory().size());
         }
 
-        Node third = new Node((GameBoard) this.getGame().clone(), (ArrayList<Action>) this.getActionHistory().clone());
+        Node third = new Node((GameBoard) this.getGame().clone(), (ArrayList<Action>) this.getActionHistory().clone(), context);
         if (executeMove(third, Action.MOVE_LEFT)) {
 
             expanded.add(third);
-            if (third.getActionHistory().size() > depth)
-                depth = third.getActionHistory().size();
+            context.updateDepth(third.getActionHistory().size());
         }
 
-        Node fourth = new Node((GameBoard) this.getGame().clone(), (ArrayList<Action>) this.getActionHistory().clone());
+        Node fourth = new Node((GameBoard) this.getGame().clone(), (ArrayList<Action>) this.getActionHistory().clone(), context);
         if (executeMove(fourth, Action.MOVE_RIGHT)) {
 
             expanded.add(fourth);
-            if (fourth.getActionHistory().size() > depth)
-                depth = fourth.getActionHistory().size();
+            context.updateDepth(fourth.getActionHistory().size());
         }
 
         return expanded;
@@ -246,7 +314,8 @@ public class Node {
             e.printStackTrace();
         }
 
-        if (expansionScheme == ExpansionScheme.PUSH_BASED) {
+        //under the pushes-then-moves cost model the cell of sokoban is kept, since it makes a difference to the moves
+        if (context.getExpansionScheme() == ExpansionScheme.PUSH_BASED && !context.isLexicographicCost()) {
             cloned.getBoard()[cloned.getSokobanCell().getRow()][cloned.getSokobanCell().getColumn()].setContent(CellContent.EMPTY);
         }
 
@@ -276,7 +345,7 @@ public class Node {
         //we need to save every position reachable by sokoban in the state transposition
         //because two states are equal only if the boxes are in the same places and sokoban can reach the same cells
         byte[] reachableCells;
-        if (expansionScheme == ExpansionScheme.PUSH_BASED) {
+        if (context.getExpansionScheme() == ExpansionScheme.PUSH_BASED) {
             bytes.clear();
 
             try {
@@ -353,20 +422,12 @@ public class Node {
         this.actionHistory = actions;
     }
 
-    public static ExpansionScheme getExpansionScheme() {
-        return expansionScheme;
-    }
-
-    public static void setExpansionScheme(ExpansionScheme expansionScheme) {
-        Node.expansionScheme = expansionScheme;
-    }
-
-    public static int getDepth() {
-        return depth;
+    public SolverContext getContext() {
+        return context;
     }
 
-    public static void setDepth(int depth) {
-        Node.depth = depth;
+    public void setContext(SolverContext context) {
+        this.context = context;
     }
 
     @Override
@@ -376,6 +437,7 @@ public class Node {
         cloned.game = (GameBoard) this.game.clone();
         cloned.pathCost = this.pathCost;
         cloned.actionHistory = (ArrayList<Action>) this.actionHistory.clone();
+        cloned.context = this.context;
 
         return cloned;
     }
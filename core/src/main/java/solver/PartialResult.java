@@ -0,0 +1,76 @@
+package solver;
+
+import game.GameBoard;
+
+/*
+Outcome of a search that ended without a solution, either because it ran out of one of the budgets of its
+configuration, because it was interrupted or because it explored the whole search space.
+It holds what the search proved and reached before stopping: a lower bound on the cost of the solution, the number
+of nodes explored, the deepest node reached and the state with the most promising heuristic estimate.
+*/
+public class PartialResult {
+
+/*
+    Budgets of a search, as set in its configuration
+*/
+    public enum Budget {
+        TIME, NODES, MEMORY
+    }
+
+    private final Budget exceeded;
+    private final double timeElapsed;
+    private final long exploredNodes;
+    private final int lowerBound;
+    private final Node deepest;
+    private final GameBoard mostPromising;
+    private final int mostPromisingEstimate;
+
+    public PartialResult(Budget exceeded, double timeElapsed, long exploredNodes, int lowerBound, Node deepest,
+                         GameBoard mostPromising, int mostPromisingEstimate) {
+        this.exceeded = exceeded;
+        this.timeElapsed = timeElapsed;
+        this.exploredNodes = exploredNodes;
+        this.lowerBound = lowerBound;
+        this.deepest = deepest;
+        this.mostPromising = mostPromising;
+        this.mostPromisingEstimate = mostPromisingEstimate;
+    }
+
+    //the budget that stopped the search, or null if it stopped for any other reason
+    public Budget getExceeded() {
+        return exceeded;
+    }
+
+    public double getTimeElapsed() {
+        return timeElapsed;
+    }
+
+    public long getExploredNodes() {
+        return exploredNodes;
+    }
+
+    //no solution can cost less than this
+    public int getLowerBound() {
+        return lowerBound;
+    }
+
+    public Node getDeepest() {
+        return deepest;
+    }
+
+    public GameBoard getMostPromising() {
+        return mostPromising;
+    }
+
+    public int getMostPromisingEstimate() {
+        return mostPromisingEstimate;
+    }
+
+    @Override
+    public String toString() {
+        return "Search stopped " + (exceeded == null ? "without a solution" : "by the " + exceeded.name().toLowerCase() + " budget") +
+                " after " + timeElapsed + " seconds: " + exploredNodes + " explored nodes, lower bound " + lowerBound +
+                ", depth reached " + (deepest == null ? 0 : deepest.getPathCost()) +
+                (mostPromising == null ? "" : ", best heuristic estimate " + mostPromisingEstimate);
+    }
+}
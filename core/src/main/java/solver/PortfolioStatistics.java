@@ -0,0 +1,84 @@
+package solver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+Win statistics of the members of a portfolio, recorded by the solver after every race.
+The same instance can be shared by the configurations of many searches, so that the statistics pile up over a whole
+session and tell which members are worth keeping in the portfolio.
+*/
+public class PortfolioStatistics {
+
+/*
+    Record of a single member of the portfolio, identified by the description of its configuration
+*/
+    public static class Record {
+        private int races = 0;
+        private int solved = 0;
+        private int wins = 0;
+        private double solvingTime = 0;
+
+        //records are only made by the statistics, when a member takes part in its first race
+        private Record() {
+        }
+
+        public int getRaces() {
+            return races;
+        }
+
+        public int getSolved() {
+            return solved;
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        //average time taken to find a solution, in seconds, over the races in which the member found one
+        public double getAverageSolvingTime() {
+            return solved == 0 ? Double.NaN : solvingTime / solved;
+        }
+    }
+
+    private final LinkedHashMap<String, Record> records = new LinkedHashMap<>();
+
+    public PortfolioStatistics() {
+    }
+
+/*
+    Keeps note of how a member did in a race: whether it found a solution and how long it took, and whether its
+    solution was the one picked by the portfolio
+*/
+    public synchronized void record(String member, boolean solved, boolean won, double seconds) {
+        Record r = records.computeIfAbsent(member, k -> new Record());
+        r.races++;
+        if (solved) {
+            r.solved++;
+            r.solvingTime += seconds;
+        }
+        if (won)
+            r.wins++;
+    }
+
+    public synchronized Record getRecord(String member) {
+        return records.get(member);
+    }
+
+    public synchronized Map<String, Record> getRecords() {
+        return new LinkedHashMap<>(records);
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder("Portfolio statistics:");
+        for (Map.Entry<String, Record> e : records.entrySet()) {
+            Record r = e.getValue();
+            builder.append("\n").append(e.getKey()).append(": ").append(r.wins).append(" wins, ")
+                    .append(r.solved).append(" solved out of ").append(r.races).append(" races");
+            if (r.solved > 0)
+                builder.append(String.format(", %.3f s on average", r.getAverageSolvingTime()));
+        }
+        return builder.toString();
+    }
+}
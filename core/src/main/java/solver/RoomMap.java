@@ -0,0 +1,290 @@
+package solver;
+
+import game.Cell;
+import game.CellContent;
+import game.GameBoard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/*
+Decomposition of a level into rooms and doorways, computed once from the walls of its starting state.
+The floor Sokoban can walk on is seen as a graph of cells: its articulation points, the cells that split it in more
+parts when taken away, are the doorways, and what's left of the floor falls apart into the rooms. A run of doorways
+next to each other is a corridor between two rooms, and a doorway at the end of a dead end leads to a room of its own.
+Cells that are doorways belong to the room closest to them, for the purpose of telling where a box or a goal is.
+Rooms are the nodes of an abstract graph, two rooms being linked when a path of doorways joins them.
+*/
+public class RoomMap {
+    private static final Logger log = Logger.getLogger("RoomMap");
+    private static final int[] ROWS = {-1, 1, 0, 0};
+    private static final int[] COLUMNS = {0, 0, -1, 1};
+
+    private final int rows;
+    private final int columns;
+    //room of every cell, -1 for walls and floor out of the reach of Sokoban
+    private final int[] room;
+    private final boolean[] doorway;
+    private final int rooms;
+    //rooms linked to every room by a path of doorways, and the distances between rooms in the abstract graph
+    private final ArrayList<ArrayList<Integer>> links = new ArrayList<>();
+    private final int[][] distances;
+
+    public RoomMap(GameBoard game) {
+        this.rows = game.getRows();
+        this.columns = game.getColumns();
+        int cells = rows * columns;
+        boolean[] floor = new boolean[cells];
+        for (Cell[] row : game.getBoard()) {
+            for (Cell c : row)
+                floor[index(c.getRow(), c.getColumn())] = c.getContent() != CellContent.WALL;
+        }
+
+        int start = index(game.getSokobanCell().getRow(), game.getSokobanCell().getColumn());
+        this.doorway = articulationPoints(floor, start);
+        this.room = new int[cells];
+        Arrays.fill(room, -1);
+
+        //rooms: the floor reachable by Sokoban, once the doorways are taken away
+        int count = 0;
+        boolean[] reachable = flood(floor, new boolean[cells], start);
+        for (int cell = 0; cell < cells; cell++) {
+            if (!reachable[cell] || doorway[cell] || room[cell] != -1)
+                continue;
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(cell);
+            room[cell] = count;
+            while (!queue.isEmpty()) {
+                int current = queue.remove();
+                for (int d = 0; d < ROWS.length; d++) {
+                    int next = neighbour(current, d);
+                    if (next >= 0 && reachable[next] && !doorway[next] && room[next] == -1) {
+                        room[next] = count;
+                        queue.add(next);
+                    }
+                }
+            }
+            links.add(new ArrayList<>());
+            count++;
+        }
+
+        //doorways: linking the rooms they join, then handing them to the closest room
+        int[] owner = new int[cells];
+        Arrays.fill(owner, -1);
+        for (int cell = 0; cell < cells; cell++) {
+            if (!reachable[cell] || !doorway[cell])
+                continue;
+            ArrayList<Integer> joined = roomsThrough(cell, reachable);
+            for (int r : joined) {
+                for (int other : joined) {
+                    if (r != other && !links.get(r).contains(other))
+                        links.get(r).add(other);
+                }
+            }
+            owner[cell] = closestRoom(cell, reachable);
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            if (owner[cell] != -1)
+                room[cell] = owner[cell];
+        }
+        this.rooms = count;
+
+        //distances in the abstract graph, by breadth first search from every room
+        this.distances = new int[rooms][rooms];
+        for (int r = 0; r < rooms; r++) {
+            Arrays.fill(distances[r], Integer.MAX_VALUE);
+            distances[r][r] = 0;
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(r);
+            while (!queue.isEmpty()) {
+                int current = queue.remove();
+                for (int next : links.get(current)) {
+                    if (distances[r][next] == Integer.MAX_VALUE) {
+                        distances[r][next] = distances[r][current] + 1;
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+
+        log.info("Level split in " + rooms + " rooms");
+    }
+
+/*
+    Returns the room the given cell belongs to, or -1 if it's a wall or Sokoban can't get there
+*/
+    public int roomOf(int row, int column) {
+        return room[index(row, column)];
+    }
+
+    public boolean isDoorway(int row, int column) {
+        return doorway[index(row, column)];
+    }
+
+    public int getRooms() {
+        return rooms;
+    }
+
+/*
+    Returns the number of links between two rooms in the abstract graph, or Integer.MAX_VALUE if they're not connected
+*/
+    public int distance(int from, int to) {
+        return distances[from][to];
+    }
+
+/*
+    Returns the rooms met on a shortest path between two rooms in the abstract graph, both of them included
+*/
+    public ArrayList<Integer> path(int from, int to) {
+        ArrayList<Integer> path = new ArrayList<>();
+        if (distances[from][to] == Integer.MAX_VALUE)
+            return path;
+        int current = from;
+        path.add(current);
+        while (current != to) {
+            for (int next : links.get(current)) {
+                if (distances[next][to] == distances[current][to] - 1) {
+                    current = next;
+                    break;
+                }
+            }
+            path.add(current);
+        }
+        return path;
+    }
+
+/*
+    Finds the articulation points of the floor reachable from the given cell, with an iterative version of the
+    depth-first search of Tarjan, since a recursive one could overflow the stack on large levels
+*/
+    private boolean[] articulationPoints(boolean[] floor, int start) {
+        int cells = floor.length;
+        boolean[] articulation = new boolean[cells];
+        int[] discovery = new int[cells];
+        int[] low = new int[cells];
+        int[] parent = new int[cells];
+        //next direction to try from every cell on the stack
+        int[] direction = new int[cells];
+        Arrays.fill(discovery, -1);
+
+        int time = 0;
+        int rootChildren = 0;
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        discovery[start] = low[start] = time++;
+        parent[start] = -1;
+        stack.push(start);
+
+        while (!stack.isEmpty()) {
+            int cell = stack.peek();
+            if (direction[cell] < ROWS.length) {
+                int next = neighbour(cell, direction[cell]++);
+                if (next < 0 || !floor[next])
+                    continue;
+                if (discovery[next] == -1) {
+                    discovery[next] = low[next] = time++;
+                    parent[next] = cell;
+                    if (cell == start)
+                        rootChildren++;
+                    stack.push(next);
+                }
+                else if (next != parent[cell])
+                    low[cell] = Math.min(low[cell], discovery[next]);
+                continue;
+            }
+
+            //every neighbour was tried: the cell is done, and its parent learns how far back its subtree reaches
+            stack.pop();
+            int up = parent[cell];
+            if (up >= 0) {
+                low[up] = Math.min(low[up], low[cell]);
+                if (up != start && low[cell] >= discovery[up])
+                    articulation[up] = true;
+            }
+        }
+        articulation[start] = rootChildren > 1;
+
+        return articulation;
+    }
+
+/*
+    Rooms next to the doorways reachable from the given doorway through doorways only
+*/
+    private ArrayList<Integer> roomsThrough(int from, boolean[] reachable) {
+        ArrayList<Integer> found = new ArrayList<>();
+        boolean[] seen = new boolean[room.length];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(from);
+        seen[from] = true;
+        while (!queue.isEmpty()) {
+            int current = queue.remove();
+            for (int d = 0; d < ROWS.length; d++) {
+                int next = neighbour(current, d);
+                if (next < 0 || !reachable[next] || seen[next])
+                    continue;
+                seen[next] = true;
+                if (doorway[next])
+                    queue.add(next);
+                else if (!found.contains(room[next]))
+                    found.add(room[next]);
+            }
+        }
+        return found;
+    }
+
+/*
+    Room at the fewest steps from the given doorway, walking over the floor
+*/
+    private int closestRoom(int from, boolean[] reachable) {
+        boolean[] seen = new boolean[room.length];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(from);
+        seen[from] = true;
+        while (!queue.isEmpty()) {
+            int current = queue.remove();
+            if (!doorway[current])
+                return room[current];
+            for (int d = 0; d < ROWS.length; d++) {
+                int next = neighbour(current, d);
+                if (next >= 0 && reachable[next] && !seen[next]) {
+                    seen[next] = true;
+                    queue.add(next);
+                }
+            }
+        }
+        return -1;
+    }
+
+    private boolean[] flood(boolean[] floor, boolean[] seen, int from) {
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(from);
+        seen[from] = true;
+        while (!queue.isEmpty()) {
+            int current = queue.remove();
+            for (int d = 0; d < ROWS.length; d++) {
+                int next = neighbour(current, d);
+                if (next >= 0 && floor[next] && !seen[next]) {
+                    seen[next] = true;
+                    queue.add(next);
+                }
+            }
+        }
+        return seen;
+    }
+
+    private int index(int row, int column) {
+        return row * columns + column;
+    }
+
+/*
+    Cell next to the given one in the given direction, or -1 if it's off the board
+*/
+    private int neighbour(int cell, int direction) {
+        int row = cell / columns + ROWS[direction];
+        int column = cell % columns + COLUMNS[direction];
+        if (row < 0 || row >= rows || column < 0 || column >= columns)
+            return -1;
+        return index(row, column);
+    }
+}
@@ -0,0 +1,176 @@
+package solver;
+
+import game.Cell;
+import game.CellContent;
+import game.GameBoard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.logging.Logger;
+
+/*
+Abstract plan of the flow of boxes between the rooms of a level, splitting it into stages to be solved one at a time.
+Every box is sent to a room with goals, the nearest ones in the abstract graph of the RoomMap first, and every room
+with goals is a stage: its goals, and the boxes sent to it. A room has to be filled before the rooms its boxes go
+through on their way, the one they come from included, since its goals would stand in their way otherwise: rooms
+are filled in an order that respects that, starting from the ones furthest from Sokoban.
+*/
+public class RoomPlan {
+    private static final Logger log = Logger.getLogger("RoomPlan");
+
+    private final ArrayList<Stage> stages = new ArrayList<>();
+
+/*
+    Stage of the plan: goals to fill and boxes to fill them with, as {row, column}, the boxes being taken where they
+    are at the start of the level. Boxes of later stages never move before their own stage.
+*/
+    public static class Stage {
+        private final ArrayList<int[]> goals = new ArrayList<>();
+        private final ArrayList<int[]> boxes = new ArrayList<>();
+
+        //stages are only made by the plan, or by merging two of its stages
+        private Stage() {
+        }
+
+/*
+        Returns the stage made of the goals and the boxes of both stages
+*/
+        public Stage merge(Stage other) {
+            Stage merged = new Stage();
+            merged.goals.addAll(goals);
+            merged.goals.addAll(other.goals);
+            merged.boxes.addAll(boxes);
+            merged.boxes.addAll(other.boxes);
+            return merged;
+        }
+
+/*
+        Builds the board of the stage out of the given state of the level: the boxes of the stage are the only ones
+        left, with the goals of the stage as the only goals, while every other box becomes a wall.
+        The boxes are numbered again, since the board expects them to be numbered from 0.
+*/
+        public GameBoard board(GameBoard state) throws CloneNotSupportedException {
+            GameBoard stage = (GameBoard) state.clone();
+            Cell[][] board = stage.getBoard();
+            for (Cell[] row : board) {
+                for (Cell c : row) {
+                    c.setGoal(false);
+                    if (c.getContent() == CellContent.BOX) {
+                        c.setContent(CellContent.WALL);
+                        c.setBoxNumber(null);
+                    }
+                }
+            }
+            for (int[] g : goals)
+                board[g[0]][g[1]].setGoal(true);
+            for (int i = 0; i < boxes.size(); i++) {
+                board[boxes.get(i)[0]][boxes.get(i)[1]].setContent(CellContent.BOX);
+                board[boxes.get(i)[0]][boxes.get(i)[1]].setBoxNumber(i);
+            }
+
+            //cloning again rebuilds the references to Sokoban, the boxes and the goals from the cells
+            return (GameBoard) stage.clone();
+        }
+
+        public int size() {
+            return boxes.size();
+        }
+    }
+
+    public RoomPlan(GameBoard game, RoomMap map) {
+        ArrayList<int[]> boxes = new ArrayList<>();
+        for (Cell c : game.getBoxCells().values())
+            boxes.add(new int[]{c.getRow(), c.getColumn()});
+        int rooms = map.getRooms();
+        int sokobanRoom = map.roomOf(game.getSokobanCell().getRow(), game.getSokobanCell().getColumn());
+
+        Stage[] byRoom = new Stage[rooms];
+        boolean outside = false;
+        for (Cell g : game.getGoalCells()) {
+            int r = map.roomOf(g.getRow(), g.getColumn());
+            if (r < 0) {
+                outside = true;
+                break;
+            }
+            if (byRoom[r] == null)
+                byRoom[r] = new Stage();
+            byRoom[r].goals.add(new int[]{g.getRow(), g.getColumn()});
+        }
+        for (int[] b : boxes)
+            outside |= map.roomOf(b[0], b[1]) < 0;
+
+        //a box or a goal out of the rooms can't be planned for: the whole level is a single stage
+        if (outside) {
+            Stage whole = new Stage();
+            for (Cell g : game.getGoalCells())
+                whole.goals.add(new int[]{g.getRow(), g.getColumn()});
+            whole.boxes.addAll(boxes);
+            stages.add(whole);
+            return;
+        }
+
+        //sending the boxes to the rooms, closest pairs first: rooms in the abstract graph, then cells on the board
+        int cells = game.getRows() * game.getColumns();
+        ArrayList<long[]> pairs = new ArrayList<>();
+        for (int b = 0; b < boxes.size(); b++) {
+            int from = map.roomOf(boxes.get(b)[0], boxes.get(b)[1]);
+            for (int r = 0; r < rooms; r++) {
+                if (byRoom[r] == null || map.distance(from, r) == Integer.MAX_VALUE)
+                    continue;
+                int nearest = Integer.MAX_VALUE;
+                for (int[] g : byRoom[r].goals)
+                    nearest = Math.min(nearest, Math.abs(g[0] - boxes.get(b)[0]) + Math.abs(g[1] - boxes.get(b)[1]));
+                pairs.add(new long[]{(long) map.distance(from, r) * cells + nearest, b, r});
+            }
+        }
+        pairs.sort(Comparator.comparingLong(p -> p[0]));
+
+        boolean[] sent = new boolean[boxes.size()];
+        //before[a][b] tells that room b has to be filled before room a, since boxes sent to b go through a
+        boolean[][] before = new boolean[rooms][rooms];
+        for (long[] p : pairs) {
+            int b = (int) p[1];
+            int r = (int) p[2];
+            if (sent[b] || byRoom[r].boxes.size() == byRoom[r].goals.size())
+                continue;
+            sent[b] = true;
+            byRoom[r].boxes.add(boxes.get(b));
+            int from = map.roomOf(boxes.get(b)[0], boxes.get(b)[1]);
+            for (int through : map.path(from, r)) {
+                if (through != r)
+                    before[through][r] = true;
+            }
+        }
+
+        //filling order: a room is ready once the rooms that have to come before it are filled, and the furthest
+        //one from Sokoban is taken among the ready ones. A cycle is broken by taking the furthest one anyway.
+        boolean[] filled = new boolean[rooms];
+        while (true) {
+            int next = -1;
+            int fallback = -1;
+            for (int r = 0; r < rooms; r++) {
+                if (byRoom[r] == null || filled[r])
+                    continue;
+                boolean waiting = false;
+                for (int other = 0; other < rooms; other++)
+                    waiting |= before[r][other] && byRoom[other] != null && !filled[other];
+                if (!waiting && (next == -1 || map.distance(sokobanRoom, r) > map.distance(sokobanRoom, next)))
+                    next = r;
+                if (fallback == -1 || map.distance(sokobanRoom, r) > map.distance(sokobanRoom, fallback))
+                    fallback = r;
+            }
+            if (next == -1)
+                next = fallback;
+            if (next == -1)
+                break;
+            filled[next] = true;
+            stages.add(byRoom[next]);
+        }
+
+        log.info("Level planned in " + stages.size() + " stages over " + rooms + " rooms");
+    }
+
+    public ArrayList<Stage> getStages() {
+        return stages;
+    }
+}
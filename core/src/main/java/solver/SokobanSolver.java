@@ -0,0 +1,643 @@
+package solver;
+
+import game.Action;
+import game.GameBoard;
+import game.Level;
+import solver.algorithms.*;
+import solver.configuration.Configuration;
+import solver.configuration.DDRoutine;
+import solver.configuration.ExpansionScheme;
+import solver.configuration.Strategy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/*
+    Actor class that solves a sokoban puzzle.
+    This class's responsibility is to take "orders" from the client, executing the preliminary operations for the algorithm's
+    execution, launching the algorithm itself and finally distributing the solution.
+    Every instance owns the SolverContext of its own search, so that many solvers can run at the same time.
+*/
+
+public class SokobanSolver {
+    private static Logger log = Logger.getLogger("SokobanSolver");
+    private final SolverContext context;
+    private volatile Node solution = null;
+    private volatile double timeElapsed;
+    //solvers racing in portfolio mode, and the configuration of the one that won
+    private volatile List<SokobanSolver> members = new ArrayList<>();
+    private volatile Configuration portfolioWinner = null;
+    //what the search got to when it stopped without a solution, and the budget that stopped it, if any
+    private volatile PartialResult partialResult = null;
+    private volatile PartialResult.Budget exceeded = null;
+    //checkpoints of the last search, if it was checkpointed
+    private volatile Checkpointer checkpointer = null;
+    //how often the budgets are checked while the search runs, in milliseconds
+    private static final long BUDGET_SAMPLING = 50;
+
+    public SokobanSolver(Configuration configuration) {
+        this.context = new SolverContext(configuration);
+    }
+
+/*
+    Method that acts as a façade between the client and the actual algorithms.
+    It takes a GameBoard configured with the level to solve, then configures and launches the search accordingly,
+    using the configuration given to the solver when it was created, or races the configurations of its portfolio.
+    If a solution is found, it acts upon the original GameBoard to show it. Otherwise, a partial result tells what the
+    search got to before stopping, be it for running out of one of its budgets or for any other reason.
+*/
+    public void solve(GameBoard toSolve) throws InterruptedException, CloneNotSupportedException {
+        solve(toSolve, false);
+    }
+
+/*
+    Same as solve, except that the search is picked up from the latest checkpoint found in the checkpoint directory of
+    the configuration, which has to be the one of a search of the same level with the same strategy and heuristic.
+    The time taken by the runs that wrote the checkpoints is added to the time elapsed.
+*/
+    public void resume(GameBoard toSolve) throws InterruptedException, CloneNotSupportedException {
+        solve(toSolve, true);
+    }
+
+    private void solve(GameBoard toSolve, boolean resume) throws InterruptedException, CloneNotSupportedException {
+        Configuration configuration = context.getConfiguration();
+        //the same solver may be asked to solve again, after a solution or after being stopped
+        context.reset();
+        members = new ArrayList<>();
+        portfolioWinner = null;
+        context.setLogLine("\n\n");
+        solution = null;
+        partialResult = null;
+        exceeded = null;
+        Long start;
+
+        //Starting the clock to measure elapsed time
+        start = Instant.now().toEpochMilli();
+
+        ScheduledExecutorService monitor = monitorBudgets(start);
+        try {
+            if (!configuration.getPortfolio().isEmpty())
+                solution = race(toSolve);
+            else if (configuration.isRoomDecomposition() && configuration.getCheckpointDirectory() == null)
+                solution = decompose(toSolve);
+            else {
+                if (configuration.isRoomDecomposition())
+                    log.warning("Searches split into rooms can't be checkpointed, the level is searched as a whole");
+                solution = search(toSolve, resume);
+            }
+        } finally {
+            if (monitor != null)
+                monitor.shutdownNow();
+        }
+        //some strategies hand back the node they were on when interrupted, which isn't a solution
+        if (solution != null && !solution.isGoal())
+            solution = null;
+
+        //Push-based solutions walk as little as their order of pushes allows: pushing in a different order may save moves
+        if (solution != null && configuration.isMoveOptimization() &&
+                solution.getContext().getExpansionScheme() == ExpansionScheme.PUSH_BASED)
+            solution = new SolutionOptimizer(toSolve).optimize(solution);
+
+        //Stopping the clock
+        timeElapsed = (double) (Instant.now().toEpochMilli() - start) / 1000;
+        if (checkpointer != null)
+            timeElapsed += (double) checkpointer.getElapsedBefore() / 1000;
+
+        //Showing the list of actions in the console and executing the corresponding moves on the board
+        ArrayList<Action> solutionActions = new ArrayList<>();
+        if (solution != null) solutionActions = solution.getActionHistory();
+        if (!solutionActions.isEmpty()) {
+            context.setLogLine("");
+            log.info("Solution found in " + solutionActions.size() + " moves!");
+            //in portfolio mode, the counters are the ones of the member that found the solution
+            log.info("number of examined nodes: " + solution.getContext().getTransposer().getExaminedNodes());
+            log.info("number of nodes pruned by DeadlockDetector: " + solution.getContext().getDetector().getPrunedNodes());
+            log.info("" + solution.getActionHistory());
+            for (Action a : solutionActions) {
+                //we execute every action in the solution: the board will automagically solve the puzzle as a result
+                toSolve.takeAction(a);
+                if (configuration.getReplayDelay() > 0)
+                    Thread.sleep(configuration.getReplayDelay());
+            }
+        }
+        else
+            log.info("Sorry, no solution was found!");
+
+        if (solution == null) {
+            partialResult = partialResult();
+            log.info(partialResult.toString());
+        }
+    }
+
+/*
+    Starts checking the budgets of the configuration while the search runs, on a thread of its own.
+    The thread samples the elapsed time, the number of explored nodes and the heap in use: the first budget found
+    exceeded is kept note of, and the search is interrupted just like the user would do.
+    Returns null if the configuration has no budgets.
+*/
+    private ScheduledExecutorService monitorBudgets(long start) {
+        Configuration configuration = context.getConfiguration();
+        long timeBudget = configuration.getTimeBudget();
+        long nodeBudget = configuration.getNodeBudget();
+        long memoryBudget = configuration.getMemoryBudget();
+        if (timeBudget <= 0 && nodeBudget <= 0 && memoryBudget <= 0)
+            return null;
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "BudgetMonitor");
+            t.setDaemon(true);
+            return t;
+        });
+        monitor.scheduleAtFixedRate(() -> {
+            if (exceeded != null || context.isInterrupted())
+                return;
+
+            PartialResult.Budget over = null;
+            if (timeBudget > 0 && Instant.now().toEpochMilli() - start >= timeBudget)
+                over = PartialResult.Budget.TIME;
+            else if (nodeBudget > 0 && getExploredNodes() >= nodeBudget)
+                over = PartialResult.Budget.NODES;
+            else if (memoryBudget > 0 && memory.getHeapMemoryUsage().getUsed() >= memoryBudget)
+                over = PartialResult.Budget.MEMORY;
+
+            if (over != null) {
+                exceeded = over;
+                log.info("The " + over.name().toLowerCase() + " budget was exceeded, stopping the search");
+                interrupt();
+            }
+        }, BUDGET_SAMPLING, BUDGET_SAMPLING, TimeUnit.MILLISECONDS);
+        return monitor;
+    }
+
+/*
+    Number of nodes explored so far by the search, or by all the members of the portfolio or all the stages together
+*/
+    public long getExploredNodes() {
+        long explored = context.getTransposer().getExaminedNodes();
+        for (SokobanSolver member : members)
+            explored += member.getExploredNodes();
+        return explored;
+    }
+
+/*
+    Puts together what the search got to before stopping without a solution. In portfolio mode, the members' searches
+    are all taken into account: the highest lower bound any of them proved holds for the level.
+*/
+    private PartialResult partialResult() {
+        ArrayList<SolverContext> contexts = new ArrayList<>();
+        contexts.add(context);
+        //the stages of a level split into rooms only search parts of it, so their bounds and states don't count
+        if (!context.getConfiguration().getPortfolio().isEmpty()) {
+            for (SokobanSolver member : members)
+                contexts.add(member.getContext());
+        }
+
+        int lowerBound = 0;
+        Node deepest = null;
+        GameBoard mostPromising = null;
+        int mostPromisingEstimate = Integer.MAX_VALUE;
+        for (SolverContext c : contexts) {
+            lowerBound = Math.max(lowerBound, c.getLowerBound());
+            if (c.getDeepest() != null && (deepest == null || c.getDeepest().getPathCost() > deepest.getPathCost()))
+                deepest = c.getDeepest();
+            if (c.getMostPromising() != null && c.getMostPromisingEstimate() < mostPromisingEstimate) {
+                mostPromising = c.getMostPromising();
+                mostPromisingEstimate = c.getMostPromisingEstimate();
+            }
+        }
+        return new PartialResult(exceeded, timeElapsed, getExploredNodes(), lowerBound, deepest, mostPromising,
+                mostPromisingEstimate);
+    }
+
+/*
+    Configures and launches the search with the configuration of this solver, returning the solution found, if any.
+    The given board is only read.
+*/
+    private Node search(GameBoard toSolve, boolean resume) throws CloneNotSupportedException {
+        Configuration configuration = context.getConfiguration();
+
+        //The board the search will work on is bound to the deadlock detector of this search
+        GameBoard toSearch = (GameBoard) toSolve.clone();
+        toSearch.setDetector(context.getDetector());
+        //the starting estimate already bounds the cost of the solution, whatever the search proves later
+        context.updateLowerBound(SokobanToolkit.estimateLowerBound(toSolve));
+
+        //Precomputes dead positions before starting the search, if required and not known already
+        if ((configuration.getRoutine() == DDRoutine.ALL_ROUTINES || configuration.getRoutine() == DDRoutine.DEAD_POSITIONS) &&
+                !context.getDetector().isDeadPositionsKnown()) {
+            context.getDetector().handleDeadPositions((GameBoard) toSolve.clone());
+            context.setLogLine("\n\nComputing dead positions");
+        }
+
+        //Finds the tunnels of the level, if push-based expansion has to use macro pushes through them
+        if (configuration.getExpansionScheme() == ExpansionScheme.PUSH_BASED && configuration.isTunnelMacros() &&
+                !isLevelByPush(configuration.getStrategy()))
+            context.setTunnels(new TunnelMap(toSolve));
+
+        //Finds the goal rooms of the level and the order to fill them in, if push-based expansion has to use goal macros
+        if (configuration.getExpansionScheme() == ExpansionScheme.PUSH_BASED && configuration.isGoalMacros() &&
+                isSuboptimal(configuration.getStrategy()))
+            context.setGoalRooms(GoalRoom.find(toSolve));
+
+        //Checkpoints the search, or picks it up from the latest checkpoint, if the configuration has a directory for them
+        checkpointer = null;
+        if (configuration.getCheckpointDirectory() != null) {
+            if (Checkpointer.supports(configuration.getStrategy())) {
+                Path directory = Paths.get(configuration.getCheckpointDirectory());
+                try {
+                    if (resume && Checkpointer.exists(directory))
+                        checkpointer = Checkpointer.resume(directory, toSolve, context);
+                    else {
+                        if (resume)
+                            log.warning("No checkpoint found in " + directory + ", starting a new search");
+                        checkpointer = Checkpointer.start(directory, toSolve, context);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            else
+                log.warning("Searches with strategy " + configuration.getStrategy() + " can't be checkpointed");
+        }
+
+        //Starting the search with the required algorithm
+        Algorithm chosen = Algorithm.getInstance(configuration.getStrategy());
+        chosen.setCheckpointer(checkpointer);
+        Node found = chosen.launch(toSearch, context);
+        //anytime strategies may have published a solution before being interrupted
+        if (found == null)
+            found = context.getBestSolution();
+        return found;
+    }
+
+/*
+    Strategies that go one push deeper with every level of the search and take the first solution met in a level as
+    the one with the fewest pushes. A macro push makes many pushes in a single level, so they can't use macros.
+*/
+    private static boolean isLevelByPush(Strategy strategy) {
+        return strategy == Strategy.BFS || strategy == Strategy.PBFS || strategy == Strategy.EXTBFS ||
+                strategy == Strategy.BIDIRECTIONAL;
+    }
+
+/*
+    Strategies that don't promise anything about the number of pushes. Goal macros fill goal rooms in a fixed order,
+    which can cost pushes, so they're only used by these: weighted A* and ARA* publish a bound on the cost of their
+    solutions, which macros would make false.
+*/
+    private static boolean isSuboptimal(Strategy strategy) {
+        return strategy == Strategy.GBFS || strategy == Strategy.BEAM;
+    }
+
+/*
+    Divide and conquer over the rooms of the level: the stages of the RoomPlan are searched one after the other, each
+    one on a board of its own where the boxes of the other stages are walls, starting from the state the previous
+    stages left the level in. The search of every stage is the one of the configuration, in a solver of its own.
+    A stage with no solution is merged with the one before it, since the way that one was solved may be what stands
+    in the way, or with the one after it if it's the first: the search goes back to the start of the merged stage.
+    It only gives up when a single stage is left and it has no solution, which is the level searched as a whole.
+*/
+    private Node decompose(GameBoard toSolve) throws CloneNotSupportedException {
+        Configuration configuration = context.getConfiguration();
+        ArrayList<RoomPlan.Stage> stages = new RoomPlan(toSolve, new RoomMap(toSolve)).getStages();
+        context.updateLowerBound(SokobanToolkit.estimateLowerBound(toSolve));
+        //the boards of the stages have more walls and fewer goals than the level: its dead positions hold for them
+        if (configuration.getRoutine() == DDRoutine.ALL_ROUTINES || configuration.getRoutine() == DDRoutine.DEAD_POSITIONS)
+            context.getDetector().handleDeadPositions((GameBoard) toSolve.clone());
+
+        //states of the level at the start of every stage solved so far, and the solutions of those stages
+        ArrayList<GameBoard> states = new ArrayList<>();
+        GameBoard start = (GameBoard) toSolve.clone();
+        start.setDetector(null);
+        states.add(start);
+        ArrayList<Node> solved = new ArrayList<>();
+
+        ArrayList<SokobanSolver> solvers = new ArrayList<>();
+        int i = 0;
+        while (i < stages.size()) {
+            RoomPlan.Stage stage = stages.get(i);
+            log.info("Stage " + (i + 1) + " of " + stages.size() + ", with " + stage.size() + " boxes");
+            context.setLogLine("Stage " + (i + 1) + " of " + stages.size() + "\nBoxes in the stage: " + stage.size());
+
+            //the solver of the stage is a member, so that it's interrupted and its nodes are counted with this one's
+            SokobanSolver stageSolver = new SokobanSolver(configuration);
+            stageSolver.getContext().getDetector().inheritDeadPositions(context.getDetector());
+            solvers.add(stageSolver);
+            members = new ArrayList<>(solvers);
+            if (context.isInterrupted())
+                return null;
+            Node found = stageSolver.search(stage.board(states.get(i)), false);
+
+            if (found != null && found.isGoal()) {
+                solved.add(found);
+                GameBoard next = (GameBoard) states.get(i).clone();
+                for (Action a : found.getActionHistory())
+                    next.takeAction(a);
+                states.add(next);
+                i++;
+                context.updateDeepest(join(solved, next));
+                continue;
+            }
+            if (context.isInterrupted() || stages.size() == 1)
+                return null;
+
+            //merging the stage with a neighbour and going back to the start of the merged stage
+            int first = i == 0 ? 0 : i - 1;
+            log.info("Stage " + (i + 1) + " has no solution, merging it with stage " + (i == 0 ? 2 : i));
+            stages.set(first, stages.get(first).merge(stages.get(first + 1)));
+            stages.remove(first + 1);
+            while (solved.size() > first) {
+                solved.remove(solved.size() - 1);
+                states.remove(states.size() - 1);
+            }
+            i = first;
+        }
+
+        return join(solved, states.get(states.size() - 1));
+    }
+
+/*
+    Puts the solutions of consecutive stages together, in a node with the given state of the level
+*/
+    private Node join(ArrayList<Node> solved, GameBoard state) {
+        ArrayList<Action> actions = new ArrayList<>();
+        int pathCost = 0;
+        for (Node n : solved) {
+            actions.addAll(n.getActionHistory());
+            pathCost += n.getPathCost();
+        }
+        Node joined = new Node(state, actions, context);
+        joined.setPathCost(pathCost);
+        return joined;
+    }
+
+/*
+    Portfolio mode: every configuration of the portfolio searches the level at the same time, on a thread of its own,
+    in a solver with its own context.
+    Without a deadline, the first solution found wins. With a deadline, the members are stopped when it expires and
+    the best solution found by then wins, or the first one found after that if there was none. Solutions are ranked by
+    the pushes and moves they take on the level, counted the same way for every member whatever its scheme and macros,
+    pushes first unless the solver's own configuration is move-based. Either way, the members still running are told to
+    stop and give up cooperatively, and the outcome of the race is added to the statistics.
+*/
+    private Node race(GameBoard toSolve) throws InterruptedException, CloneNotSupportedException {
+        Configuration configuration = context.getConfiguration();
+        List<Configuration> portfolio = configuration.getPortfolio();
+        int size = portfolio.size();
+
+        ArrayList<SokobanSolver> solvers = new ArrayList<>();
+        for (Configuration c : portfolio)
+            solvers.add(new SokobanSolver(c));
+        members = solvers;
+        if (context.isInterrupted())
+            return null;
+
+        //only read and written by this thread: the members hand their outcome over through their futures
+        Node[] found = new Node[size];
+        double[] times = new double[size];
+        int[][] costs = new int[size][];
+        AtomicInteger threads = new AtomicInteger(0);
+        ExecutorService pool = Executors.newFixedThreadPool(size, r -> {
+            Thread t = new Thread(r, "Portfolio-" + threads.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        ExecutorCompletionService<Finished> completion = new ExecutorCompletionService<>(pool);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            //every member gets a board of its own, since the original one will show the solution while others still run
+            GameBoard board = (GameBoard) toSolve.clone();
+            int member = i;
+            completion.submit(() -> {
+                Node result = solvers.get(member).search(board, false);
+                return new Finished(member, result, (double) (System.currentTimeMillis() - start) / 1000);
+            });
+        }
+
+        long deadline = configuration.getPortfolioDeadline();
+        int winner = -1;
+        int finished = 0;
+        try {
+            while (finished < size && !context.isInterrupted()) {
+                //taking the first solution, or the best one when the deadline expires
+                if (winner != -1 && (deadline <= 0 || System.currentTimeMillis() - start >= deadline))
+                    break;
+
+                context.setLogLine("Portfolio members: " + size + "\nFinished members: " + finished +
+                        "\nBest solution: " + (winner == -1 ? "none" : costs[winner][0] + " pushes, " +
+                        costs[winner][1] + " moves"));
+                Future<Finished> done = completion.poll(100, TimeUnit.MILLISECONDS);
+                if (done == null)
+                    continue;
+                finished++;
+
+                Finished outcome;
+                try {
+                    outcome = done.get();
+                } catch (ExecutionException e) {
+                    log.warning("A member of the portfolio failed: " + e.getCause());
+                    continue;
+                }
+                int member = outcome.member;
+                found[member] = outcome.found;
+                times[member] = outcome.time;
+                if (found[member] != null && found[member].isGoal()) {
+                    costs[member] = cost(toSolve, found[member]);
+                    if (winner == -1 || isCheaper(costs[member], costs[winner], configuration.getExpansionScheme()))
+                        winner = member;
+                }
+            }
+        } finally {
+            for (SokobanSolver s : solvers)
+                s.interrupt();
+            pool.shutdown();
+        }
+
+        //with a deadline, solutions published by anytime members that were still running count as well:
+        //publishing them is synchronized, unlike whatever those members are still doing before they give up
+        if (deadline > 0) {
+            double stopped = (double) (System.currentTimeMillis() - start) / 1000;
+            for (int i = 0; i < size; i++) {
+                Node published = solvers.get(i).getBestSolution();
+                if (found[i] == null && published != null && published.isGoal()) {
+                    found[i] = published;
+                    times[i] = stopped;
+                    costs[i] = cost(toSolve, published);
+                    if (winner == -1 || isCheaper(costs[i], costs[winner], configuration.getExpansionScheme()))
+                        winner = i;
+                }
+            }
+        }
+
+        PortfolioStatistics statistics = configuration.getPortfolioStatistics();
+        for (int i = 0; i < size; i++) {
+            boolean solved = found[i] != null && found[i].isGoal();
+            statistics.record(portfolio.get(i).getDescription(), solved, i == winner, times[i]);
+        }
+        log.info(statistics.toString());
+
+        if (winner == -1)
+            return null;
+        portfolioWinner = portfolio.get(winner);
+        log.info("Portfolio won by " + portfolioWinner.getDescription() + " in " + times[winner] + " seconds");
+        return found[winner];
+    }
+
+/*
+    Pushes and moves of a solution, played on the board of the level
+*/
+    private static int[] cost(GameBoard toSolve, Node solution) throws CloneNotSupportedException {
+        List<Action> moves = solution.getActionHistory();
+        return new int[] {SokobanToolkit.countPushes(toSolve, moves), moves.size()};
+    }
+
+/*
+    Tells if the first of two solutions, given by their pushes and moves, is better than the second one in the scheme given
+*/
+    private static boolean isCheaper(int[] first, int[] second, ExpansionScheme scheme) {
+        int primary = scheme == ExpansionScheme.MOVE_BASED ? 1 : 0;
+        if (first[primary] != second[primary])
+            return first[primary] < second[primary];
+        return first[1 - primary] < second[1 - primary];
+    }
+
+/*
+    Outcome of the search of a member of the portfolio: the node it returned and the seconds it took since the start
+*/
+    private static class Finished {
+        private final int member;
+        private final Node found;
+        private final double time;
+
+        Finished(int member, Node found, double time) {
+            this.member = member;
+            this.found = found;
+            this.time = time;
+        }
+    }
+
+/*
+    Obtains the list of actions in the solution node, or null if there's no solution available
+*/
+    public ArrayList<Action> getSolution() {
+        Node found = solution;
+        if (found != null && found.getActionHistory().size() > 0)
+            return found.getActionHistory();
+        else
+            return null;
+    }
+
+/*
+    Obtains the number of moves required by the solution, or a negative value if there's no solution available
+*/
+    public int getSolutionMoves() {
+        Node found = solution;
+        if (found != null && found.getActionHistory().size() > 0)
+            return found.getActionHistory().size();
+        else
+            return -1;
+    }
+
+/*
+    Obtains the number of pushes required by the solution, or a negative value if there's no solution available
+*/
+    public int getSolutionPushes() {
+        Node found = solution;
+        if (found != null && found.getActionHistory().size() > 0) {
+            return found.getPathCost();
+        }
+        else
+            return -1;
+    }
+
+/*
+    Obtains the optimal number of moves or pushes required by the level that we're solving
+*/
+    public int getOptimalSolution() {
+        Level l = context.getConfiguration().getLevel();
+        if (context.getExpansionScheme() == ExpansionScheme.MOVE_BASED) {
+            return l.getBestSolution();
+        }
+        else
+            return l.getMinPushes();
+    }
+
+    public void interrupt() {
+        context.interrupt();
+        for (SokobanSolver member : members)
+            member.interrupt();
+    }
+
+/*
+    Obtains the configuration of the portfolio member whose solution was taken, or null if there's none
+*/
+    public Configuration getPortfolioWinner() {
+        return portfolioWinner;
+    }
+
+/*
+    Obtains what the last search got to when it stopped without a solution, or null if it found one
+*/
+    public PartialResult getPartialResult() {
+        return partialResult;
+    }
+
+/*
+    Registers a listener that will be told about every improved solution found by an anytime strategy,
+    along with its suboptimality bound, while the search is still running
+*/
+    public void addSolutionListener(SolverContext.SolutionListener listener) {
+        context.addSolutionListener(listener);
+    }
+
+/*
+    Obtains the best solution published so far by an anytime strategy, or null if none was published
+*/
+    public Node getBestSolution() {
+        return context.getBestSolution();
+    }
+
+/*
+    Obtains the proven suboptimality bound of the best solution published so far: its cost is at most this many times
+    the optimal one. It's infinite if nothing was published.
+*/
+    public double getSolutionBound() {
+        return context.getBound();
+    }
+
+    //A bunch of standard getters and setters
+
+    public void setSolution(Node solution) {
+        this.solution = solution;
+    }
+
+    public double getTimeElapsed() {
+        return timeElapsed;
+    }
+
+    public String getLogLine() {
+        return context.getLogLine();
+    }
+
+    public Configuration getConfiguration() {
+        return context.getConfiguration();
+    }
+
+    public SolverContext getContext() {
+        return context;
+    }
+
+    public boolean isInterrupted() {
+        return context.isInterrupted();
+    }
+}
@@ -18,14 +18,13 @@ This class will collect static methods implementing reusable algorithm optimizat
 subproblems encountered in the main flow of the program. Its only purpose is to keep other classes a bit cleaner.
 */
 public class SokobanToolkit {
-    private static Heuristic heuristic = Heuristic.MINIMUM_PERFECT_MATCHING;
     private static Logger log = Logger.getLogger("SokobanToolkit");
 
     /*
         Public facade method to obtain a heuristic estimate of a given state.
-        The heuristic used will be the one that was set by the client before the search was started.
+        The heuristic used will be the one that was chosen by the client for the search, passed by the caller.
     */
-    public static int heuristicEstimate(GameBoard toSolve) {
+    public static int heuristicEstimate(GameBoard toSolve, Heuristic heuristic) {
         switch (heuristic) {
             case NAIVE_MATCHING: {
                 return estimateNaively(toSolve);
@@ -445,6 +444,20 @@ public class SokobanToolkit {
         return result;
     }
 
+    /*
+     * Returns true if the given node was obtained by pushing the same box that
+     * was pushed to obtain its parent. It's the criteria compareByInertia uses,
+     * evaluated for a single node, so that it can be computed just once when the
+     * node is inserted into a frontier instead of on every comparison.
+     */
+    public static boolean isPushedByInertia(Node node, Node parent) {
+        if (parent == null)
+            return false;
+
+        Integer parentBox = parent.getGame().getLastMovedBox();
+        return parentBox != null && parentBox.equals(node.getGame().getLastMovedBox());
+    }
+
     /*
      * Takes two nodes in an expansion batch and their parent, and returns a
      * positive value if the first child moved the same box as the father while the
@@ -706,12 +719,23 @@ public class SokobanToolkit {
         return data;
     }
 
-
-    public static void setHeuristic(Heuristic heuristic) {
-        SokobanToolkit.heuristic = heuristic;
+    /*
+     * Counts the pushes of a sequence of moves by playing it on a copy of the
+     * board it starts from: solutions found with different expansion schemes and
+     * macros can't be compared by their path cost, but they can be compared this
+     * way.
+     */
+    public static int countPushes(GameBoard start, List<Action> moves) throws CloneNotSupportedException {
+        GameBoard board = (GameBoard) start.clone();
+        board.setDetector(null);
+        int pushes = 0;
+        for (Action a : moves) {
+            Cell next = GoalRoom.neighbour(board, board.getSokobanCell(), a);
+            if (next != null && next.getContent() == CellContent.BOX)
+                pushes++;
+            board.takeAction(a);
+        }
+        return pushes;
     }
 
-    public static Heuristic getHeuristic() {
-        return heuristic;
-    }
 }
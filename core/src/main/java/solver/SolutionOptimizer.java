@@ -0,0 +1,274 @@
+package solver;
+
+import game.Action;
+import game.Cell;
+import game.CellContent;
+import game.GameBoard;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/*
+Optimization pass over a solution found by a push-based search, cutting down the moves it takes without adding pushes.
+The walking between two pushes is already as short as it gets, so moves can only be saved by pushing differently.
+The solution is replayed to get the box configurations it goes through, its corridor, and a search over the states
+made of a configuration in the corridor and a position of Sokoban finds the path with the fewest pushes and, among
+those, the fewest moves. Pushes that lead out of the corridor aren't allowed, which keeps the search small.
+The corridor is then widened by swapping every two consecutive pushes of different boxes in the best solution found,
+and the search runs again, for as long as it keeps finding better solutions: pushes can travel further and further
+from their place in the original order this way.
+*/
+public class SolutionOptimizer {
+    private static final Logger log = Logger.getLogger("SolutionOptimizer");
+    //maximum number of times the corridor is widened
+    private static final int PASSES = 8;
+    //cost of a push on top of its move: pushes come first, moves only break ties
+    private static final long PUSH = 1L << 32;
+    //rows and columns of the offsets of the actions, in the order of Action.values(): flipping the lowest bit of the
+    //index of a direction gives the opposite one
+    private static final Action[] ACTIONS = Action.values();
+    private static final int[] ROWS = {0, 0, -1, 1};
+    private static final int[] COLUMNS = {-1, 1, 0, 0};
+
+    private final GameBoard game;
+    private final int rows;
+    private final int columns;
+    private final boolean[] walls;
+    private final BitSet goals = new BitSet();
+    private final BitSet startingBoxes = new BitSet();
+    private final int startingCell;
+
+    //box configurations of the corridor, and their identifiers
+    private final ArrayList<BitSet> configurations = new ArrayList<>();
+    private final HashMap<BitSet, Integer> corridor = new HashMap<>();
+
+/*
+    Replay of a solution: the configurations it goes through and the pushes taking it from one to the next
+*/
+    private static class Replay {
+        final ArrayList<BitSet> configurations = new ArrayList<>();
+        //cell of the box and direction of every push
+        final ArrayList<int[]> pushes = new ArrayList<>();
+        int moves = 0;
+    }
+
+    public SolutionOptimizer(GameBoard game) {
+        this.game = game;
+        this.rows = game.getRows();
+        this.columns = game.getColumns();
+        this.walls = new boolean[rows * columns];
+        for (Cell[] row : game.getBoard()) {
+            for (Cell c : row) {
+                int cell = c.getRow() * columns + c.getColumn();
+                walls[cell] = c.getContent() == CellContent.WALL;
+                if (c.isGoal())
+                    goals.set(cell);
+                if (c.getContent() == CellContent.BOX)
+                    startingBoxes.set(cell);
+            }
+        }
+        this.startingCell = game.getSokobanCell().getRow() * columns + game.getSokobanCell().getColumn();
+    }
+
+/*
+    Returns a solution with fewer moves and no more pushes than the given one, or the given one if none was found
+*/
+    public Node optimize(Node solution) throws CloneNotSupportedException {
+        long start = System.currentTimeMillis();
+        ArrayList<Action> best = solution.getActionHistory();
+        Replay replay = replay(best);
+        if (replay == null) {
+            log.warning("The solution doesn't solve the level, it's left as it is");
+            return solution;
+        }
+
+        configurations.clear();
+        corridor.clear();
+        for (BitSet c : replay.configurations)
+            add(c);
+
+        for (int pass = 0; pass < PASSES; pass++) {
+            addSwaps(replay);
+            ArrayList<Action> found = search();
+            Replay improved = found == null ? null : replay(found);
+            if (improved == null || improved.pushes.size() > replay.pushes.size() ||
+                    (improved.pushes.size() == replay.pushes.size() && improved.moves >= replay.moves))
+                break;
+            best = found;
+            replay = improved;
+        }
+
+        log.info("Solution optimized from " + solution.getActionHistory().size() + " to " + best.size() + " moves in " +
+                (System.currentTimeMillis() - start) + " ms, over a corridor of " + configurations.size() + " configurations");
+        if (best == solution.getActionHistory())
+            return solution;
+
+        //the optimized solution gets the final state of the level, found by playing it without deadlock detection
+        GameBoard end = (GameBoard) game.clone();
+        end.setDetector(null);
+        for (Action a : best)
+            end.takeAction(a);
+        Node optimized = new Node(end, best, solution.getContext());
+        optimized.setPathCost(replay.pushes.size());
+        return optimized;
+    }
+
+/*
+    Plays a list of actions from the starting state, returning null if any of them is illegal or if the level isn't
+    solved at the end
+*/
+    private Replay replay(List<Action> actions) {
+        Replay replay = new Replay();
+        BitSet boxes = (BitSet) startingBoxes.clone();
+        int sokoban = startingCell;
+        replay.configurations.add((BitSet) boxes.clone());
+
+        for (Action a : actions) {
+            int direction = a.ordinal();
+            int next = neighbour(sokoban, direction);
+            if (next < 0 || walls[next])
+                return null;
+            if (boxes.get(next)) {
+                int beyond = neighbour(next, direction);
+                if (beyond < 0 || walls[beyond] || boxes.get(beyond))
+                    return null;
+                boxes.clear(next);
+                boxes.set(beyond);
+                replay.pushes.add(new int[]{next, direction});
+                replay.configurations.add((BitSet) boxes.clone());
+            }
+            sokoban = next;
+            replay.moves++;
+        }
+
+        return isSolved(boxes) ? replay : null;
+    }
+
+/*
+    Adds to the corridor the configurations met by making every two consecutive pushes of different boxes the other
+    way around, as long as the push brought forward is a legal one
+*/
+    private void addSwaps(Replay replay) {
+        for (int i = 0; i + 1 < replay.pushes.size(); i++) {
+            int[] first = replay.pushes.get(i);
+            int[] second = replay.pushes.get(i + 1);
+            //the second push moves the box the first one moved
+            if (second[0] == neighbour(first[0], first[1]))
+                continue;
+
+            BitSet before = replay.configurations.get(i);
+            int box = second[0];
+            int target = neighbour(box, second[1]);
+            int behind = neighbour(box, second[1] ^ 1);
+            if (target < 0 || walls[target] || before.get(target) || behind < 0 || walls[behind] || before.get(behind))
+                continue;
+
+            BitSet swapped = (BitSet) before.clone();
+            swapped.clear(box);
+            swapped.set(target);
+            add(swapped);
+        }
+    }
+
+    private void add(BitSet configuration) {
+        if (!corridor.containsKey(configuration)) {
+            corridor.put(configuration, configurations.size());
+            configurations.add(configuration);
+        }
+    }
+
+/*
+    Dijkstra search over the states of the corridor, with pushes weighing more than any number of moves.
+    States are packed into a long, as the identifier of the configuration times the number of cells plus the cell of
+    Sokoban.
+*/
+    private ArrayList<Action> search() {
+        int cells = rows * columns;
+        HashMap<Long, Long> costs = new HashMap<>();
+        HashMap<Long, Long> parents = new HashMap<>();
+        HashMap<Long, Action> actions = new HashMap<>();
+        PriorityQueue<long[]> queue = new PriorityQueue<>(Comparator.comparingLong(e -> e[0]));
+
+        long root = (long) corridor.get(startingBoxes) * cells + startingCell;
+        costs.put(root, 0L);
+        queue.add(new long[]{0, root});
+
+        while (!queue.isEmpty()) {
+            long[] examined = queue.poll();
+            long cost = examined[0];
+            long state = examined[1];
+            if (cost > costs.get(state))
+                continue;
+
+            int id = (int) (state / cells);
+            int sokoban = (int) (state % cells);
+            BitSet boxes = configurations.get(id);
+            if (isSolved(boxes))
+                return path(state, parents, actions);
+
+            for (int direction = 0; direction < ACTIONS.length; direction++) {
+                int next = neighbour(sokoban, direction);
+                if (next < 0 || walls[next])
+                    continue;
+
+                long child;
+                long childCost;
+                if (boxes.get(next)) {
+                    int beyond = neighbour(next, direction);
+                    if (beyond < 0 || walls[beyond] || boxes.get(beyond))
+                        continue;
+                    BitSet pushed = (BitSet) boxes.clone();
+                    pushed.clear(next);
+                    pushed.set(beyond);
+                    //pushes out of the corridor aren't explored
+                    Integer pushedId = corridor.get(pushed);
+                    if (pushedId == null)
+                        continue;
+                    child = (long) pushedId * cells + next;
+                    childCost = cost + PUSH + 1;
+                }
+                else {
+                    child = (long) id * cells + next;
+                    childCost = cost + 1;
+                }
+
+                Long known = costs.get(child);
+                if (known == null || childCost < known) {
+                    costs.put(child, childCost);
+                    parents.put(child, state);
+                    actions.put(child, ACTIONS[direction]);
+                    queue.add(new long[]{childCost, child});
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static ArrayList<Action> path(long state, HashMap<Long, Long> parents, HashMap<Long, Action> actions) {
+        ArrayList<Action> path = new ArrayList<>();
+        while (parents.containsKey(state)) {
+            path.add(actions.get(state));
+            state = parents.get(state);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private boolean isSolved(BitSet boxes) {
+        BitSet empty = (BitSet) goals.clone();
+        empty.andNot(boxes);
+        return empty.isEmpty();
+    }
+
+/*
+    Cell next to the given one in the given direction, or -1 if it's off the board
+*/
+    private int neighbour(int cell, int direction) {
+        int row = cell / columns + ROWS[direction];
+        int column = cell % columns + COLUMNS[direction];
+        if (row < 0 || row >= rows || column < 0 || column >= columns)
+            return -1;
+        return row * columns + column;
+    }
+}
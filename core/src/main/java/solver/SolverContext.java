@@ -0,0 +1,235 @@
+package solver;
+
+import game.GameBoard;
+import solver.configuration.Configuration;
+import solver.configuration.ExpansionScheme;
+import solver.configuration.Heuristic;
+import solver.configuration.Strategy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+This class holds all the state belonging to a single search: the configuration chosen by the client, the transposition
+tables, the deadlock detector, the search counters and the cancellation flag.
+Every node created during a search keeps a reference to the context it belongs to, so that nothing about the search
+needs to live in static fields and many independent searches can run side by side in the same JVM.
+*/
+public class SolverContext {
+    private final Configuration configuration;
+    private final Transposer transposer;
+    private final DeadlockDetector detector;
+
+    //maximum depth reached by the search at a certain point in time
+    private final AtomicInteger depth = new AtomicInteger(0);
+    private volatile boolean interrupted = false;
+    private volatile String logLine = "";
+
+    //best solution published so far by an anytime search, and the proven bound on its suboptimality
+    private volatile Node bestSolution = null;
+    private volatile double bound = Double.POSITIVE_INFINITY;
+    private final CopyOnWriteArrayList<SolutionListener> listeners = new CopyOnWriteArrayList<>();
+
+    //tunnels of the level, used for macro pushes: no macros if it's null
+    private volatile TunnelMap tunnels = null;
+    //goal rooms of the level, used for goal macros: no macros if it's null
+    private volatile List<GoalRoom> goalRooms = null;
+
+    //what the search proved and reached so far, reported when it stops without a solution
+    private final AtomicInteger lowerBound = new AtomicInteger(0);
+    private volatile Node deepest = null;
+    private volatile GameBoard mostPromising = null;
+    private volatile int mostPromisingEstimate = Integer.MAX_VALUE;
+
+    public SolverContext(Configuration configuration) {
+        this.configuration = configuration;
+        this.transposer = new Transposer(this);
+        this.detector = new DeadlockDetector(this, configuration.getRoutine());
+    }
+
+/*
+    Shortcut to obtain a heuristic estimate of a state with the heuristic chosen for this search
+*/
+    public int heuristicEstimate(GameBoard state) {
+        int estimate = SokobanToolkit.heuristicEstimate(state, configuration.getHeuristic());
+        //keeping note of the state that looks closest to a solution: the check is all it costs most of the time
+        if (estimate < mostPromisingEstimate) {
+            synchronized (this) {
+                if (estimate < mostPromisingEstimate) {
+                    try {
+                        mostPromising = (GameBoard) state.clone();
+                        mostPromisingEstimate = estimate;
+                    } catch (CloneNotSupportedException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        }
+        return estimate;
+    }
+
+/*
+    Keeps note of a new maximum depth reached by the search, if the given one is deeper than the current one
+*/
+    public void updateDepth(int reached) {
+        depth.accumulateAndGet(reached, Math::max);
+    }
+
+/*
+    Keeps note of a node reached by the search, if it's deeper than any other one met so far
+*/
+    public void updateDeepest(Node n) {
+        updateDepth(n.getPathCost());
+        Node current = deepest;
+        if (current == null || n.getPathCost() > current.getPathCost()) {
+            synchronized (this) {
+                if (deepest == null || n.getPathCost() > deepest.getPathCost())
+                    deepest = n;
+            }
+        }
+    }
+
+/*
+    Keeps note of a lower bound on the cost of the solution proven by the search, if it's higher than the current one
+*/
+    public void updateLowerBound(int proven) {
+        lowerBound.accumulateAndGet(proven, Math::max);
+    }
+
+    public void interrupt() {
+        interrupted = true;
+    }
+
+/*
+    Gets the context ready for a new search of the same configuration: whatever the previous search stored, found or
+    proved is forgotten, the cancellation flag included, while the listeners stay registered
+*/
+    public synchronized void reset() {
+        interrupted = false;
+        transposer.resetSearchSpace();
+        detector.setRoutine(configuration.getRoutine());
+        detector.setPrunedNodes(0);
+        depth.set(0);
+        bestSolution = null;
+        bound = Double.POSITIVE_INFINITY;
+        tunnels = null;
+        goalRooms = null;
+        lowerBound.set(0);
+        deepest = null;
+        mostPromising = null;
+        mostPromisingEstimate = Integer.MAX_VALUE;
+    }
+
+/*
+    Called by the searches that find better and better solutions over time: makes the given solution available to the
+    clients before the search is over, together with the proven bound on its cost as a multiple of the optimal one.
+*/
+    public synchronized void publishSolution(Node solution, double bound) {
+        bestSolution = solution;
+        this.bound = bound;
+        for (SolutionListener l : listeners)
+            l.solutionFound(solution, bound);
+    }
+
+    public void addSolutionListener(SolutionListener listener) {
+        listeners.add(listener);
+    }
+
+/*
+    Functional interface for the clients that want to be told about every improved solution as soon as it's found
+*/
+    public interface SolutionListener {
+        public void solutionFound(Node solution, double bound);
+    }
+
+    //A bunch of standard getters and setters
+
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    public ExpansionScheme getExpansionScheme() {
+        return configuration.getExpansionScheme();
+    }
+
+    public Heuristic getHeuristic() {
+        return configuration.getHeuristic();
+    }
+
+    public Strategy getStrategy() {
+        return configuration.getStrategy();
+    }
+
+/*
+    Tells if the search orders its nodes by pushes and then by moves: it's only the case for push-based A*
+*/
+    public boolean isLexicographicCost() {
+        return configuration.isLexicographicCost() && configuration.getStrategy() == Strategy.ASTAR &&
+                configuration.getExpansionScheme() == ExpansionScheme.PUSH_BASED;
+    }
+
+    public Transposer getTransposer() {
+        return transposer;
+    }
+
+    public DeadlockDetector getDetector() {
+        return detector;
+    }
+
+    public int getDepth() {
+        return depth.get();
+    }
+
+    public boolean isInterrupted() {
+        return interrupted;
+    }
+
+    public int getLowerBound() {
+        return lowerBound.get();
+    }
+
+    public Node getDeepest() {
+        return deepest;
+    }
+
+    public GameBoard getMostPromising() {
+        return mostPromising;
+    }
+
+    public int getMostPromisingEstimate() {
+        return mostPromisingEstimate;
+    }
+
+    public TunnelMap getTunnels() {
+        return tunnels;
+    }
+
+    public void setTunnels(TunnelMap tunnels) {
+        this.tunnels = tunnels;
+    }
+
+    public List<GoalRoom> getGoalRooms() {
+        return goalRooms;
+    }
+
+    public void setGoalRooms(List<GoalRoom> goalRooms) {
+        this.goalRooms = goalRooms;
+    }
+
+    public Node getBestSolution() {
+        return bestSolution;
+    }
+
+    public double getBound() {
+        return bound;
+    }
+
+    public String getLogLine() {
+        return logLine;
+    }
+
+    public void setLogLine(String logLine) {
+        this.logLine = logLine;
+    }
+}
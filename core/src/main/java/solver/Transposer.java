@@ -0,0 +1,191 @@
+package solver;
+
+import solver.configuration.Strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
+
+/*
+This class is in charge of managing state transpositions.
+Every search owns its own instance, reachable through the SolverContext of the search.
+The tables are concurrent, so the workers of a parallel search can share the same instance and still prune
+the duplicates found by each other.
+*/
+public class Transposer {
+    private static final Logger log = Logger.getLogger("Transposer");
+    private final SolverContext context;
+
+    //transposition table, using the hashed state as key and the depth at which a state was encountered as value
+    private ConcurrentHashMap<Long, Integer> transpositionTable = new ConcurrentHashMap<>();
+
+    //accounting table, using the hashed state as key and the ordering key of the node label as value
+    //used by informed search algorithms to check if a node was already met with a higher label
+    private ConcurrentHashMap<Long, Long> accountingTable = new ConcurrentHashMap<>();
+
+    //nodes examined by searches that keep track of the states they met on their own, outside of the tables
+    private final AtomicLong untabledNodes = new AtomicLong(0);
+
+    //partitions of the search space owned by the workers of a parallel search, each one used by a single thread
+    private final ArrayList<Transposer> partitions = new ArrayList<>();
+
+    public Transposer(SolverContext context) {
+        this.context = context;
+    }
+
+/*
+    Splits the search space into a number of independent transposers, one for every worker of a parallel search.
+    Each partition is meant to be accessed only by the thread owning it, while this transposer keeps counting
+    the nodes examined by all of them.
+*/
+    public Transposer[] createPartitions(int number) {
+        Transposer[] created = new Transposer[number];
+        for (int i = 0; i < number; i++) {
+            created[i] = new Transposer(context);
+        }
+        synchronized (partitions) {
+            partitions.addAll(Arrays.asList(created));
+        }
+        return created;
+    }
+
+/*
+    This method transposes a node and inserts it into the transposition table.
+    It returns true if the node was transposed, false if an equivalent transposition was already present.
+    Note that we update the transposition if the node was already found at a deeper level, and we return true
+    anyway. This allows dfs-like algorithms to function properly, without cutting proper paths after backtracking.
+
+    Sidenote: I've crammed an isPresent(node) type of method and a transpose(node) type of method into the same one,
+    because the transposition table is ALWAYS used in a "if not present then add" fashion anyway...
+    this way, you'll often find something like:
+    if (transposer.transpose(node))
+        expanded = node.expand()
+*/
+    public boolean transpose (Node n) throws CloneNotSupportedException {
+        //informed nodes already know their hash, there's no need to compute it again
+        Long nodeHash = n instanceof InformedNode ? ((InformedNode) n).getHash() : n.hash();
+        Integer oldDepth = transpositionTable.putIfAbsent(nodeHash, n.getPathCost());
+        if (oldDepth == null) {
+            return true;
+        }
+
+        //the value is only replaced if nobody changed it in the meantime, otherwise we check again against the new one
+        while (reopensShallowerNodes() && oldDepth > n.getPathCost()) {
+            if (transpositionTable.replace(nodeHash, oldDepth, n.getPathCost()))
+                return true;
+            oldDepth = transpositionTable.putIfAbsent(nodeHash, n.getPathCost());
+            if (oldDepth == null)
+                return true;
+        }
+        return false;
+    }
+
+/*
+    Depth-first algorithms have to explore a state again when they reach it through a shorter path,
+    and so do ARA* and Fringe Search, which keep track of the best path cost of every state
+*/
+    private boolean reopensShallowerNodes() {
+        Strategy strategy = context.getStrategy();
+        return strategy.equals(Strategy.IDDFS) || strategy.equals(Strategy.IDASTAR) || strategy.equals(Strategy.PIDASTAR) ||
+                strategy.equals(Strategy.ARASTAR) || strategy.equals(Strategy.FRINGE);
+    }
+
+/*
+    Checks if the given path cost is the best one known for the state with the given hash.
+    Used to recognize nodes that were left behind while the state was reached again through a shorter path.
+*/
+    public boolean hasDepth (long hash, int depth) {
+        Integer current = transpositionTable.get(hash);
+        return current != null && current == depth;
+    }
+
+/*
+    This method inserts a node into the accounting table
+    It returns true if the node was accounted, false if the node was already present with a better or equal label.
+*/
+    public boolean saveLabel(InformedNode n) throws CloneNotSupportedException {
+        long key = n.getOrderingKey();
+        Long oldLabel = accountingTable.putIfAbsent(n.getHash(), key);
+        if (oldLabel == null) {
+            return true;
+        }
+
+        while (oldLabel > key) {
+            if (accountingTable.replace(n.getHash(), oldLabel, key))
+                return true;
+            oldLabel = accountingTable.putIfAbsent(n.getHash(), key);
+            if (oldLabel == null)
+                return true;
+        }
+        return false;
+    }
+
+/*
+    Removes a node from the accounting table
+*/
+    public void removeLabel(InformedNode n) throws CloneNotSupportedException {
+        accountingTable.remove(n.getHash());
+    }
+
+/*
+    Checks if a node represents an already known state but improves on the label
+*/
+    public boolean hasBetterLabel (InformedNode n) throws CloneNotSupportedException {
+        Long oldLabel = accountingTable.get(n.getHash());
+
+        if (oldLabel == null) return false;
+        return n.getOrderingKey() < oldLabel;
+    }
+
+/*
+    Checks if the given label is the one currently accounted for the state with the given hash.
+    Used to recognize nodes that have been stored away from the frontier while the state was reached with a better
+    label or examined in the meantime. The label is taken with no second component.
+*/
+    public boolean hasLabel (long hash, int label) {
+        Long current = accountingTable.get(hash);
+        return current != null && current == InformedNode.orderingKey(label, 0);
+    }
+
+/*
+    Goes through every state in the transposition table along with its depth, for a checkpoint of the search
+*/
+    public void forEachTransposition(BiConsumer<Long, Integer> action) {
+        transpositionTable.forEach(action);
+    }
+
+/*
+    Puts back a state saved by a checkpoint of the search into the transposition table
+*/
+    public void restoreTransposition(long hash, int depth) {
+        transpositionTable.merge(hash, depth, Math::min);
+    }
+
+/*
+    Counts nodes examined by a search that doesn't transpose them, so that they're still seen by the node budget
+*/
+    public void countExaminedNodes(long examined) {
+        untabledNodes.addAndGet(examined);
+    }
+
+    public long getExaminedNodes() {
+        long examined = transpositionTable.size() + untabledNodes.get();
+        synchronized (partitions) {
+            for (Transposer t : partitions)
+                examined += t.getExaminedNodes();
+        }
+        return examined;
+    }
+
+    public void resetSearchSpace() {
+        transpositionTable.clear();
+        accountingTable.clear();
+        untabledNodes.set(0);
+        synchronized (partitions) {
+            partitions.clear();
+        }
+    }
+}
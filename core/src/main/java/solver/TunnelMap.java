@@ -0,0 +1,88 @@
+package solver;
+
+import game.Action;
+import game.Cell;
+import game.CellContent;
+import game.GameBoard;
+
+/*
+Map of the tunnels of a level, computed once from the walls before the search starts.
+A cell is part of a tunnel along an axis when it's closed by walls on both sides of that axis: a box pushed along a
+horizontal tunnel has walls to the north and to the south, a box pushed along a vertical one has walls to the east
+and to the west.
+Once a box and Sokoban behind it are both inside a tunnel, pushing the box all the way through is the only thing
+worth doing with it, so push-based expansion turns that chain of pushes into a single macro push.
+*/
+public class TunnelMap {
+    //cells closed by walls to the north and to the south, and cells closed by walls to the east and to the west
+    private final boolean[][] horizontal;
+    private final boolean[][] vertical;
+
+    public TunnelMap(GameBoard game) {
+        horizontal = new boolean[game.getRows()][game.getColumns()];
+        vertical = new boolean[game.getRows()][game.getColumns()];
+
+        for (Cell[] row : game.getBoard()) {
+            for (Cell c : row) {
+                if (c.getContent() == CellContent.WALL)
+                    continue;
+                horizontal[c.getRow()][c.getColumn()] = isWall(game.getNorth(c)) && isWall(game.getSouth(c));
+                vertical[c.getRow()][c.getColumn()] = isWall(game.getEast(c)) && isWall(game.getWest(c));
+            }
+        }
+    }
+
+/*
+    Checks if the box just pushed in the given direction has to be pushed once more: both the box and Sokoban must be
+    inside a tunnel running along the push, the box must not be resting on a goal and the cell ahead must be free
+*/
+    public boolean continuesThrough(GameBoard game, Action push) {
+        Cell sokoban = game.getSokobanCell();
+        Cell box;
+        Cell ahead;
+        boolean[][] tunnels;
+
+        switch (push) {
+            case MOVE_UP: {
+                box = game.getNorth(sokoban);
+                ahead = box == null ? null : game.getNorth(box);
+                tunnels = vertical;
+                break;
+            }
+            case MOVE_DOWN: {
+                box = game.getSouth(sokoban);
+                ahead = box == null ? null : game.getSouth(box);
+                tunnels = vertical;
+                break;
+            }
+            case MOVE_LEFT: {
+                box = game.getWest(sokoban);
+                ahead = box == null ? null : game.getWest(box);
+                tunnels = horizontal;
+                break;
+            }
+            default: {
+                box = game.getEast(sokoban);
+                ahead = box == null ? null : game.getEast(box);
+                tunnels = horizontal;
+            }
+        }
+
+        if (box == null || ahead == null || box.getContent() != CellContent.BOX || box.isGoal())
+            return false;
+
+        return tunnels[sokoban.getRow()][sokoban.getColumn()] && tunnels[box.getRow()][box.getColumn()] &&
+                ahead.getContent() == CellContent.EMPTY;
+    }
+
+/*
+    Checks if the given cell is part of a tunnel along either axis
+*/
+    public boolean isTunnel(int row, int column) {
+        return horizontal[row][column] || vertical[row][column];
+    }
+
+    private static boolean isWall(Cell c) {
+        return c == null || c.getContent() == CellContent.WALL;
+    }
+}
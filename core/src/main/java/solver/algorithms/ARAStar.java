@@ -0,0 +1,169 @@
+package solver.algorithms;
+
+import game.GameBoard;
+import solver.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.logging.Logger;
+
+/*
+Implementation of an Anytime Repairing A* search (ARA*).
+The search runs a sequence of weighted A* passes, f(n) = g(n) + w * h(n), starting with the weight found in the
+configuration and lowering it after every pass until it gets to 1, when the solution is proven optimal.
+Passes don't start from scratch: the best path cost of every state is kept in the transposition table for the whole
+search, the frontier of a pass is carried over to the next one, and states that were improved after being examined
+in a pass are set aside as "inconsistent" and put back in the frontier when the next pass starts.
+Every improved solution is published through the SolverContext as soon as it's found, with its proven bound.
+*/
+public class ARAStar extends Algorithm{
+    private static final Logger log = Logger.getLogger("ARAStar");
+    //amount the weight is lowered by after every pass
+    private static final double WEIGHT_STEP = 0.5;
+
+    private SolverContext context;
+    private Transposer transposer;
+    private double weight;
+    private BucketQueue open = new BucketQueue(VanillaAStar::tieBreak);
+    //states examined in the current pass, and the ones among them that were reached again with a better path cost
+    private final HashSet<Long> closed = new HashSet<>();
+    private final HashMap<Long, InformedNode> inconsistent = new HashMap<>();
+    //heuristic estimate of every state met, so that labels can be recomputed when the weight changes
+    private final HashMap<Long, Integer> heuristics = new HashMap<>();
+    private InformedNode incumbent = null;
+
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        this.context = context;
+        this.transposer = context.getTransposer();
+        this.weight = Math.max(1, context.getConfiguration().getWeight());
+
+        InformedNode root = new InformedNode(game, new ArrayList<>(), null, 0, context);
+        if (root.isGoal()) {
+            context.publishSolution(root, 1);
+            return root;
+        }
+        assignLabel(root);
+        transposer.transpose(root);
+        open.add(root);
+
+        for (int pass = 0; !context.isInterrupted(); pass++) {
+            improvePath();
+            if (context.isInterrupted())
+                break;
+
+            double bound = bound(true);
+            publish(bound);
+            log.info("Pass " + pass + " with weight " + weight + ": " +
+                    (incumbent == null ? "no solution" : incumbent.getPathCost() + " with bound " + bound) +
+                    ", " + transposer.getExaminedNodes() + " visited nodes");
+
+            if (weight <= 1 || bound <= 1 || (open.isEmpty() && inconsistent.isEmpty()))
+                break;
+
+            //lowering the weight and starting a new pass with the inconsistent states back in the frontier
+            weight = Math.max(1, weight - WEIGHT_STEP);
+            BucketQueue relabeled = new BucketQueue(VanillaAStar::tieBreak);
+            for (InformedNode n : open.nodes()) {
+                assignLabel(n);
+                relabeled.add(n);
+            }
+            for (InformedNode n : inconsistent.values()) {
+                assignLabel(n);
+                relabeled.add(n);
+            }
+            open = relabeled;
+            inconsistent.clear();
+            closed.clear();
+        }
+
+        return incumbent;
+    }
+
+/*
+    A single weighted A* pass: it goes on until no node in the frontier can lead to a solution better than the incumbent
+*/
+    private void improvePath() throws CloneNotSupportedException {
+        while (!open.isEmpty() && !context.isInterrupted()) {
+            if (incumbent != null && open.peek().getLabel() >= incumbent.getPathCost())
+                return;
+
+            InformedNode examined = open.remove();
+            closed.add(examined.getHash());
+            boolean improved = false;
+
+            for (InformedNode n : (ArrayList<InformedNode>) examined.expand()) {
+                //the transposition table only lets through states reached for the first time or with a better path cost
+                if (!transposer.transpose(n))
+                    continue;
+
+                if (n.isGoal()) {
+                    if (n.isBetterGoalThan(incumbent)) {
+                        incumbent = n;
+                        improved = true;
+                    }
+                    continue;
+                }
+
+                assignLabel(n);
+                //nodes that can't improve on the incumbent solution are useless, whatever the weight
+                if (incumbent != null && n.getPathCost() + heuristics.get(n.getHash()) >= incumbent.getPathCost())
+                    continue;
+
+                if (closed.contains(n.getHash()))
+                    inconsistent.put(n.getHash(), n);
+                else
+                    open.add(n);
+            }
+
+            //the bound only holds once all the children are in place, so the new solution is published here
+            if (improved)
+                publish(bound(false));
+
+            if (open.peek() != null)
+                context.setLogLine("Weight: " + weight + "\nBest solution: " + (incumbent == null ? "none" : incumbent.getPathCost()) +
+                        "\nFrontier size: " + open.size() + "\nVisited nodes: " + transposer.getExaminedNodes());
+        }
+    }
+
+/*
+    Proven bound on the cost of the incumbent solution as a multiple of the optimal cost.
+    Some state in the frontier or among the inconsistent ones lies on an optimal path with its best path cost,
+    so the lowest g(n) + h(n) among them can't exceed the optimal cost. At the end of a pass the incumbent is also
+    known to be within the current weight of the optimal cost.
+*/
+    private double bound(boolean passCompleted) throws CloneNotSupportedException {
+        if (incumbent == null)
+            return Double.POSITIVE_INFINITY;
+
+        int lower = incumbent.getPathCost();
+        for (InformedNode n : open.nodes())
+            lower = Math.min(lower, n.getPathCost() + heuristics.get(n.getHash()));
+        for (InformedNode n : inconsistent.values())
+            lower = Math.min(lower, n.getPathCost() + heuristics.get(n.getHash()));
+
+        context.updateLowerBound(lower);
+        double bound = lower == 0 ? 1 : (double) incumbent.getPathCost() / lower;
+        return passCompleted ? Math.min(weight, bound) : bound;
+    }
+
+/*
+    Publishes the incumbent solution, unless neither the solution nor its bound improved since the last time
+*/
+    private void publish(double bound) {
+        if (incumbent != null && (incumbent != context.getBestSolution() || bound < context.getBound()))
+            context.publishSolution(incumbent, bound);
+    }
+
+/*
+    f(n) = g(n) + w * h(n), with the weighted heuristic rounded down like in weighted A*
+*/
+    private void assignLabel(InformedNode n) throws CloneNotSupportedException {
+        Integer heuristic = heuristics.get(n.getHash());
+        if (heuristic == null) {
+            heuristic = context.heuristicEstimate(n.getGame());
+            heuristics.put(n.getHash(), heuristic);
+        }
+        n.setLabel(n.getPathCost() + (int) Math.floor(weight * heuristic));
+    }
+}
@@ -0,0 +1,234 @@
+package solver.algorithms;
+
+import game.GameBoard;
+import solver.*;
+import solver.configuration.Strategy;
+
+import java.util.ArrayList;
+import java.util.logging.Logger;
+
+/*
+Abstract algorithm. The class provides a static method to get an instance of algorithm by showing a Strategy enum.
+This way it's possible to use Strategy enum values to decouple clients of the algorithms from the algorithms:
+they don't really know or care which algorithms are available and how they operate, they just get a Strategy from the UI
+and flip it to getInstance, then they use the launch(game, context) method on it.
+Everything a search needs to keep track of is stored in the SolverContext given to launch, never in the algorithm classes,
+except for the Checkpointer: its formats belong to this package, so the solver hands it over to the algorithm directly.
+*/
+public abstract class Algorithm {
+    static final Logger log = Logger.getLogger("Algorithm");
+    //checkpoints of the search: none if it's null
+    protected Checkpointer checkpointer = null;
+
+    public static Algorithm getInstance(Strategy strategy) {
+        switch (strategy) {
+            case BFS : {
+                return new BFS();
+            }
+            case IDDFS : {
+                return new IDDFS();
+            }
+            case IDASTAR : {
+                return new IDAStar();
+            }
+            case ASTAR:  {
+                return new VanillaAStar();
+            }
+            case GBFS : {
+                return new GreedyBFS();
+            }
+            case HDASTAR : {
+                return new HDAStar();
+            }
+            case PIDASTAR : {
+                return new ParallelIDAStar();
+            }
+            case PBFS : {
+                return new ParallelBFS();
+            }
+            case EXTASTAR : {
+                return new ExternalAStar();
+            }
+            case EXTBFS : {
+                return new ExternalBFS();
+            }
+            case WASTAR : {
+                return new WeightedAStar();
+            }
+            case ARASTAR : {
+                return new ARAStar();
+            }
+            case BEAM : {
+                return new BeamSearch();
+            }
+            case BIDIRECTIONAL : {
+                return new BidirectionalSearch();
+            }
+            case TTIDASTAR : {
+                return new TTIDAStar();
+            }
+            case FRINGE : {
+                return new FringeSearch();
+            }
+            case PEASTAR : {
+                return new PartialExpansionAStar();
+            }
+        }
+        return null;
+    }
+
+    abstract public Node launch (GameBoard game, SolverContext context) throws CloneNotSupportedException;
+
+/*
+    Checkpoints the searches launched from now on, or stops checkpointing them if it's null
+*/
+    public void setCheckpointer(Checkpointer checkpointer) {
+        this.checkpointer = checkpointer;
+    }
+
+
+/*
+    Functional interface with the label assignment method
+    Used to abstract label assignment in the generic PQueue algorithm below
+*/
+    interface Labeler {
+        public void assignLabel (InformedNode informedNode);
+    }
+
+/*
+    Functional interface with the tie-breaking method for nodes sharing the same label
+    Used to pick the sub-bucket of the frontier a node goes into in the generic PQueue algorithm below:
+    nodes in lower sub-buckets are extracted first, so it has to return a small, non-negative value
+*/
+    interface TieBreaker {
+        public int tieBreak (InformedNode informedNode);
+    }
+
+/*
+    This method can generalize any "Dijkstra-like" PQueue based search algorithm. It can be used for A*,
+    for a best-first search as well as a uniform cost search.
+    You just have to pass it a tie-breaking method to order nodes with the same label the way the algorithm requires
+    and a label assigning method to update the label variable in the InformedNode after expansion.
+    The frontier is a BucketQueue indexed by label, so labels have to be small non-negative integers.
+
+    For A*, the label f(n) of a node n is equals to g(n) + h(n), where g(n) is the path cost and h(n) is the heuristic estimation.
+    In a best-first search f(n) = h(n), whereas for a uniform cost search it would be f(n) = g(n).
+
+    The heap is watched while the search runs: when it crosses the threshold of the configuration, the frontier and the
+    transposition table are thrown away and the search goes on as a memory-bounded IDA*. A* hands it the bound proven so
+    far, the label of the last node it popped. GBFS and weighted A* prove no bound on the way, and not even the lowest
+    g(n) + h(n) in their frontier is one, since they never reopen a state closed with a path cost that's too high: IDA*
+    starts over from the heuristic estimate of the starting state.
+    If the search is checkpointed, the frontier and the new transpositions are saved every now and then, and a resumed
+    search starts from the frontier of the checkpoint instead of the starting state.
+*/
+    protected Node launchPQueueSearch (GameBoard game, SolverContext context, TieBreaker t, Labeler l) throws CloneNotSupportedException {
+        Transposer transposer = context.getTransposer();
+        context.setLogLine("Top h(n) value: " + "\nFrontier size: 0" + "\nNumber of visited nodes: " + transposer.getExaminedNodes());
+
+        //nodes are ordered by label, and then by the tie-breaking criteria passed in the TieBreaker variable
+        BucketQueue frontier = new BucketQueue(t);
+
+        ArrayList<InformedNode> restored = checkpointer == null ? null : checkpointer.takeRestoredFrontier();
+        if (restored != null) {
+            //the transpositions of the checkpoint are already in place, only the frontier has to be put back
+            for (InformedNode n : restored) {
+                frontier.add(n);
+                transposer.saveLabel(n);
+            }
+        }
+        else {
+            //Inserting the root node in the queue, in the accounting structure and the transposition table
+            InformedNode root = new InformedNode(game, new ArrayList<>(), null, context.heuristicEstimate(game), context);
+            frontier.add(root);
+            transposer.transpose(root);
+            transposer.saveLabel(root);
+            if (checkpointer != null)
+                checkpointer.transposed(root);
+        }
+
+        //watching the heap, to fall back to IDA* before running out of it
+        double threshold = context.getConfiguration().getFallbackThreshold();
+        HeapWatcher watcher = new HeapWatcher(threshold);
+        if (threshold > 0)
+            watcher.start();
+        try {
+            //Main loop of the algorithm, we're only going to break it if we found a solution or if the frontier is empty,
+            while (!frontier.isEmpty() && !context.isInterrupted()) {
+
+                //running short of heap: falling back to a search that fits in memory
+                if (watcher.isUnderPressure()) {
+                    log.warning("Heap pressure with " + frontier.size() + " nodes in the frontier and " +
+                            transposer.getExaminedNodes() + " visited nodes: falling back to IDA* " +
+                            (context.getStrategy() == Strategy.ASTAR ? "with cutoff point " + context.getLowerBound() :
+                                    "from the heuristic estimate of the starting state, " + context.getLowerBound()));
+                    frontier.clear();
+                    transposer.resetSearchSpace();
+                    return new BoundedIDAStar(context, context.getConfiguration().getFallbackTableSize())
+                            .launch(game, context.getLowerBound());
+                }
+
+                if (checkpointer != null && checkpointer.isDue())
+                    checkpointer.write(frontier.nodes(), context.getLowerBound());
+
+                //We pop the node with the best heuristic estimate off the PQueue
+                InformedNode examined = frontier.remove();
+                //We remove the node we just popped from the structure that keeps the labels for the frontier.
+                //If the heuristic chosen is consistent, then A* doesn't need to keep track of "closed" nodes:
+                //we will be sure that whenever a node is extracted from the frontier, it will be extracted with the best value.
+                transposer.removeLabel(examined);
+                //with an admissible heuristic the labels popped by A* never decrease, so each one bounds the solution
+                if (context.getStrategy() == Strategy.ASTAR)
+                    context.updateLowerBound(examined.getLabel());
+
+                //SOLUTION
+                if (examined.isGoal()) {
+                    return examined;
+                }
+
+                //expanding the current node and adding the resulting nodes to the frontier Pqueue
+                ArrayList<InformedNode> expanded = (ArrayList<InformedNode>) examined.expand();
+
+                //examining the expanded nodes and determining if we should add them to the frontier
+                //note that label updating is not concretely implemented here, to keep this method generalized
+                for (InformedNode n : expanded) {
+                    l.assignLabel(n);
+
+                    //checking if the expanded node is already in the frontier with a worse label
+                    if (transposer.hasBetterLabel(n)) {
+                        //we remove the node from the frontier and insert it again with the new label:
+                        //removal just marks the old entry as stale, so this doesn't involve scanning the frontier
+                        if (frontier.remove(n)) {
+                            frontier.add(n);
+                            transposer.saveLabel(n);
+                        }
+
+                    }
+                    //checking if the expanded node is already in the transposition table and, if it's not, adding it
+                    else if (transposer.transpose(n)){
+                        //we add the node to the frontier and we transpose its label for later checking
+                        transposer.saveLabel(n);
+                        frontier.add(n);
+                        if (checkpointer != null)
+                            checkpointer.transposed(n);
+                    }
+
+                }
+
+                //logging
+                if (frontier.peek() != null)
+                    context.setLogLine("Top label value: " + frontier.peek().getLabel() +
+                            "\nFrontier size: " + frontier.size() + "\nVisited nodes: " + transposer.getExaminedNodes());
+
+            }
+
+            //the search stops between two expansions when interrupted, so the frontier can be saved as it is
+            if (checkpointer != null && context.isInterrupted())
+                checkpointer.write(frontier.nodes(), context.getLowerBound());
+        } finally {
+            watcher.stop();
+        }
+
+        return null;
+    }
+}
@@ -2,7 +2,7 @@ package solver.algorithms;
 
 import game.GameBoard;
 import solver.Node;
-import solver.SokobanSolver;
+import solver.SolverContext;
 import solver.Transposer;
 
 import java.util.ArrayList;
@@ -14,14 +14,15 @@ Implementation of a simple BFS search
 public class BFS extends Algorithm{
     private static final Logger log = Logger.getLogger("BFS");
 
-    public Node launch(GameBoard game) throws CloneNotSupportedException {
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        Transposer transposer = context.getTransposer();
 
-        SokobanSolver.setLogLine("Depth level 0" + "\nFront size: 0" +"\nExplored nodes: 0");
+        context.setLogLine("Depth level 0" + "\nFront size: 0" +"\nExplored nodes: 0");
 
         //Utility data structure used to isolate the nodes inside the "frontier" of the search, the ones we will need to
         //expand in the current iteration. It's initialized by adding the first frontier, with only the root node inside
         ArrayList<Node> front = new ArrayList<>();
-        Node root = new Node(game, new ArrayList<>());
+        Node root = new Node(game, new ArrayList<>(), context);
         if (root.isGoal()) {
             return root;
         }
@@ -31,16 +32,16 @@ public class BFS extends Algorithm{
         //to a second utility structure that will be expanded the same way on the next iteration.
         //The stopping condition is, of course, finding a node that represents a winning state.
         front.add(root);
-        for (int count = 0; !SokobanSolver.isInterrupted(); count++) {
+        for (int count = 0; !context.isInterrupted(); count++) {
             ArrayList<Node> nextLevel = new ArrayList<>();
             for (Node n : front) {
-                SokobanSolver.setLogLine("Depth level " + count + "\nFront size: " + front.size() + "\nExplored nodes: " + Transposer.getExaminedNodes());
+                context.setLogLine("Depth level " + count + "\nFront size: " + front.size() + "\nExplored nodes: " + transposer.getExaminedNodes());
                 for (Node v : n.expand()){
                     if (v.isGoal()) {
                         return v;
                     }
                     //only adding the node to the next frontier if it's not already in the transposition table
-                    else if (Transposer.transpose(v)) {
+                    else if (transposer.transpose(v)) {
                         nextLevel.add(v);
                     }
                 }
@@ -0,0 +1,83 @@
+package solver.algorithms;
+
+import game.GameBoard;
+import solver.*;
+
+import java.util.ArrayList;
+import java.util.logging.Logger;
+
+/*
+Implementation of a beam search.
+The search proceeds by depth levels like a BFS, but only the best k nodes of every level are kept, ranked by heuristic
+estimate like in the greedy best-first search, with ties broken by inertia: f(n) = h(n).
+Only the nodes that make it into the beam are transposed, so the transposition table never holds more than k nodes per
+level, and states already in the beam are never taken again.
+Whenever the beam runs out of nodes without finding a solution, the search starts over with the next, wider beam of
+the schedule found in the configuration.
+*/
+public class BeamSearch extends Algorithm{
+    private static final Logger log = Logger.getLogger("BeamSearch");
+    private SolverContext context;
+
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        this.context = context;
+        context.setLogLine("Beam width: " + "\nDepth level 0" + "\nVisited nodes: 0");
+
+        for (int width : context.getConfiguration().getBeamWidths()) {
+            if (context.isInterrupted())
+                break;
+
+            context.getTransposer().resetSearchSpace();
+            Node solution = beam(game, Math.max(1, width));
+            if (solution != null)
+                return solution;
+
+            log.info("Beam of width " + width + " exhausted after " + context.getTransposer().getExaminedNodes() + " nodes");
+        }
+
+        return null;
+    }
+
+/*
+    A single beam search with the given width, returns null if the beam runs out of nodes
+*/
+    private Node beam(GameBoard game, int width) throws CloneNotSupportedException {
+        Transposer transposer = context.getTransposer();
+
+        InformedNode root = new InformedNode(game, new ArrayList<>(), null, context.heuristicEstimate(game), context);
+        if (root.isGoal()) {
+            return root;
+        }
+        transposer.transpose(root);
+
+        ArrayList<InformedNode> beam = new ArrayList<>();
+        beam.add(root);
+        for (int count = 0; !beam.isEmpty() && !context.isInterrupted(); count++) {
+            context.setLogLine("Beam width: " + width + "\nDepth level " + count + "\nVisited nodes: " + transposer.getExaminedNodes());
+
+            //every node in the beam is expanded, the children are ranked all together
+            ArrayList<InformedNode> candidates = new ArrayList<>();
+            for (InformedNode n : beam) {
+                for (InformedNode v : (ArrayList<InformedNode>) n.expand()) {
+                    if (v.isGoal()) {
+                        return v;
+                    }
+                    GreedyBFS.assignLabel(v);
+                    candidates.add(v);
+                }
+            }
+            candidates.sort(GreedyBFS::compare);
+
+            //taking the best candidates that aren't duplicates of each other or of nodes in the previous levels
+            beam = new ArrayList<>();
+            for (InformedNode v : candidates) {
+                if (beam.size() >= width)
+                    break;
+                if (transposer.transpose(v))
+                    beam.add(v);
+            }
+        }
+
+        return null;
+    }
+}
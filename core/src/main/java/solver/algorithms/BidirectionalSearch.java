@@ -0,0 +1,372 @@
+package solver.algorithms;
+
+import game.Action;
+import game.Cell;
+import game.CellContent;
+import game.GameBoard;
+import solver.Node;
+import solver.SokobanToolkit;
+import solver.SolverContext;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.logging.Logger;
+
+/*
+Implementation of a bidirectional push/pull search.
+A forward BFS with the usual push expansion runs alongside a backward BFS that starts from the solved configurations
+and pulls boxes away from the goals, one pull per level: a solved configuration is taken once for every separate
+region Sokoban could be standing in.
+Both searches identify states by the same key, the positions of the boxes and the region reachable by Sokoban, and every
+level is expanded on the side with the smaller frontier. When the two searches meet, the pushes found by the forward
+search are stitched together with the backward pulls, replayed as pushes.
+Pulling a box from a goal can never lead to a freeze deadlock, so the backward search doesn't need deadlock detection
+and stays small on levels where the goals are packed together, which is where the forward search struggles the most.
+Every level of either search is one push, so the forward search runs without macro pushes: the solver doesn't give it
+tunnels or goal rooms. That's what makes the meeting point found in the first level where the searches meet the one
+with the fewest pushes.
+*/
+public class BidirectionalSearch extends Algorithm{
+    private static final Logger log = Logger.getLogger("BidirectionalSearch");
+    //row and column offsets of the four directions, in the same order as DIRECTIONS
+    private static final int[][] OFFSETS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final Action[] DIRECTIONS = {Action.MOVE_UP, Action.MOVE_DOWN, Action.MOVE_LEFT, Action.MOVE_RIGHT};
+
+    private SolverContext context;
+    private int rows;
+    private int columns;
+    private boolean[] walls;
+
+    //best meeting point found in the level being expanded
+    private Node meetingForward;
+    private PullState meetingBackward;
+
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        this.context = context;
+        this.rows = game.getRows();
+        this.columns = game.getColumns();
+        this.walls = new boolean[rows * columns];
+        for (Cell[] row : game.getBoard()) {
+            for (Cell c : row)
+                walls[index(c)] = c.getContent() == CellContent.WALL;
+        }
+        context.setLogLine("Forward depth 0, front size 1" + "\nBackward depth 0, front size 0" + "\nVisited states: 0");
+
+        Node root = new Node(game, new ArrayList<>(), context);
+        if (root.isGoal()) {
+            return root;
+        }
+
+        HashMap<StateKey, Node> forwardSeen = new HashMap<>();
+        ArrayList<Node> forward = new ArrayList<>();
+        forward.add(root);
+        forwardSeen.put(key(root.getGame()), root);
+
+        HashMap<StateKey, PullState> backwardSeen = new HashMap<>();
+        ArrayList<PullState> backward = new ArrayList<>();
+        if (game.getGoalCells().size() == game.getBoxCells().size()) {
+            for (PullState s : solvedStates(game)) {
+                if (backwardSeen.putIfAbsent(s.key, s) == null)
+                    backward.add(s);
+            }
+        }
+        else
+            log.warning("The number of goals doesn't match the number of boxes, the backward search is off");
+
+        int forwardDepth = 0;
+        int backwardDepth = 0;
+        while (!context.isInterrupted()) {
+            context.setLogLine("Forward depth " + forwardDepth + ", front size " + forward.size() +
+                    "\nBackward depth " + backwardDepth + ", front size " + backward.size() +
+                    "\nVisited states: " + (forwardSeen.size() + backwardSeen.size()));
+
+            //when either search runs out of states, there's no way to connect the initial state to a solved one
+            if (forward.isEmpty() || (backward.isEmpty() && !backwardSeen.isEmpty()))
+                return null;
+
+            //the side with the smaller frontier goes one level deeper
+            if (backward.isEmpty() || forward.size() <= backward.size()) {
+                forward = expandForward(forward, forwardSeen, backwardSeen);
+                forwardDepth++;
+            }
+            else {
+                backward = expandBackward(backward, backwardSeen, forwardSeen);
+                backwardDepth++;
+            }
+
+            //the level was expanded in full, so the best meeting point found in it is the best one overall
+            if (meetingForward != null) {
+                log.info("Searches met at forward depth " + forwardDepth + " and backward depth " + backwardDepth +
+                        " after visiting " + (forwardSeen.size() + backwardSeen.size()) + " states");
+                return stitch(meetingForward, meetingBackward);
+            }
+        }
+
+        return null;
+    }
+
+    private ArrayList<Node> expandForward(ArrayList<Node> front, HashMap<StateKey, Node> seen,
+                                          HashMap<StateKey, PullState> other) throws CloneNotSupportedException {
+        ArrayList<Node> next = new ArrayList<>();
+        for (Node n : front) {
+            if (context.isInterrupted())
+                break;
+
+            for (Node v : n.expand()) {
+                StateKey key = key(v.getGame());
+                if (seen.putIfAbsent(key, v) != null)
+                    continue;
+                next.add(v);
+                //the states are kept in the maps of the two searches, the transposer only counts them
+                context.getTransposer().countExaminedNodes(1);
+
+                if (v.isGoal())
+                    meet(v, null);
+                else if (other.containsKey(key))
+                    meet(v, other.get(key));
+            }
+        }
+        return next;
+    }
+
+    private ArrayList<PullState> expandBackward(ArrayList<PullState> front, HashMap<StateKey, PullState> seen,
+                                                HashMap<StateKey, Node> other) {
+        ArrayList<PullState> next = new ArrayList<>();
+        for (PullState s : front) {
+            if (context.isInterrupted())
+                break;
+
+            for (PullState v : s.pull()) {
+                if (seen.putIfAbsent(v.key, v) != null)
+                    continue;
+                next.add(v);
+                context.getTransposer().countExaminedNodes(1);
+
+                if (other.containsKey(v.key))
+                    meet(other.get(v.key), v);
+            }
+        }
+        return next;
+    }
+
+/*
+    Keeps note of a meeting point between the two searches if it leads to a shorter solution than the current one
+*/
+    private void meet(Node forward, PullState backward) {
+        int cost = forward.getPathCost() + (backward == null ? 0 : backward.depth);
+        int best = meetingForward == null ? Integer.MAX_VALUE :
+                meetingForward.getPathCost() + (meetingBackward == null ? 0 : meetingBackward.depth);
+        if (cost < best) {
+            meetingForward = forward;
+            meetingBackward = backward;
+        }
+    }
+
+/*
+    Builds the solution by replaying the pulls of the backward search as pushes, starting from the state where the two
+    searches met: every pull brought Sokoban to a cell from which the same box can be pushed back where it was.
+*/
+    private Node stitch(Node forward, PullState backward) throws CloneNotSupportedException {
+        GameBoard board = (GameBoard) forward.getGame().clone();
+        //the moves are known to be fine, there's no need to look for deadlocks
+        board.setDetector(null);
+        ArrayList<Action> actions = new ArrayList<>(forward.getActionHistory());
+        int pushes = forward.getPathCost();
+
+        for (PullState s = backward; s != null && s.parent != null; s = s.parent) {
+            Cell from = board.getBoard()[s.player / columns][s.player % columns];
+            ArrayList<Action> path = SokobanToolkit.searchPath((GameBoard) board.clone(), from);
+            if (path == null)
+                throw new IllegalStateException("Couldn't replay the backward search from " + from);
+
+            for (Action a : path)
+                board.takeAction(a);
+            board.takeAction(s.push);
+            actions.addAll(path);
+            actions.add(s.push);
+            pushes++;
+        }
+
+        Node solution = new Node(board, actions, context);
+        solution.setPathCost(pushes);
+        return solution;
+    }
+
+/*
+    Configurations with every box on a goal, one for every region of the level Sokoban could be standing in
+*/
+    private ArrayList<PullState> solvedStates(GameBoard game) {
+        int[] boxes = new int[game.getGoalCells().size()];
+        boolean[] occupied = new boolean[rows * columns];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i] = index(game.getGoalCells().get(i));
+            occupied[boxes[i]] = true;
+        }
+        Arrays.sort(boxes);
+
+        //the cells inside the level are the ones Sokoban could reach if there were no boxes
+        boolean[] inside = flood(index(game.getSokobanCell()), new boolean[rows * columns]);
+
+        ArrayList<PullState> solved = new ArrayList<>();
+        boolean[] covered = new boolean[rows * columns];
+        for (int cell = 0; cell < rows * columns; cell++) {
+            if (!inside[cell] || occupied[cell] || covered[cell])
+                continue;
+
+            boolean[] region = flood(cell, occupied);
+            for (int c = 0; c < region.length; c++)
+                covered[c] |= region[c];
+            solved.add(new PullState(boxes, cell, null, null, 0));
+        }
+        return solved;
+    }
+
+/*
+    Key of the state on a board: the cells of the boxes and the first cell of the region reachable by Sokoban
+*/
+    private StateKey key(GameBoard game) {
+        boolean[] occupied = new boolean[rows * columns];
+        int[] boxes = new int[game.getBoxCells().size()];
+        int count = 0;
+        int player = 0;
+        for (Cell[] row : game.getBoard()) {
+            for (Cell c : row) {
+                if (c.getContent() == CellContent.BOX) {
+                    boxes[count++] = index(c);
+                    occupied[index(c)] = true;
+                }
+                else if (c.getContent() == CellContent.SOKOBAN)
+                    player = index(c);
+            }
+        }
+        return new StateKey(boxes, firstReachable(flood(player, occupied)));
+    }
+
+/*
+    Cells reachable from the given one without crossing walls or occupied cells
+*/
+    private boolean[] flood(int start, boolean[] occupied) {
+        boolean[] reached = new boolean[rows * columns];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        reached[start] = true;
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            for (int[] offset : OFFSETS) {
+                int next = neighbour(cell, offset);
+                if (next >= 0 && !reached[next] && !walls[next] && !occupied[next]) {
+                    reached[next] = true;
+                    queue.add(next);
+                }
+            }
+        }
+        return reached;
+    }
+
+    private static int firstReachable(boolean[] reached) {
+        for (int c = 0; c < reached.length; c++) {
+            if (reached[c])
+                return c;
+        }
+        return -1;
+    }
+
+    private int neighbour(int cell, int[] offset) {
+        int row = cell / columns + offset[0];
+        int column = cell % columns + offset[1];
+        if (row < 0 || row >= rows || column < 0 || column >= columns)
+            return -1;
+        return row * columns + column;
+    }
+
+    private int index(Cell c) {
+        return c.getRow() * columns + c.getColumn();
+    }
+
+/*
+    Boxes and region of Sokoban, compared by value
+*/
+    private static class StateKey {
+        private final int[] boxes;
+        private final int region;
+        private final int hash;
+
+        StateKey(int[] boxes, int region) {
+            this.boxes = boxes;
+            this.region = region;
+            this.hash = 31 * Arrays.hashCode(boxes) + region;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof StateKey)) return false;
+            StateKey other = (StateKey) o;
+            return region == other.region && Arrays.equals(boxes, other.boxes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+/*
+    State of the backward search. Besides the boxes and the position of Sokoban, it remembers the state it was pulled
+    from and the push that undoes the pull, to be made from the current position of Sokoban.
+*/
+    private class PullState {
+        private final int[] boxes;
+        private final int player;
+        private final PullState parent;
+        private final Action push;
+        private final int depth;
+        private final StateKey key;
+        private final boolean[] reachable;
+
+        PullState(int[] boxes, int player, PullState parent, Action push, int depth) {
+            this.boxes = boxes;
+            this.player = player;
+            this.parent = parent;
+            this.push = push;
+            this.depth = depth;
+
+            boolean[] occupied = new boolean[rows * columns];
+            for (int b : boxes)
+                occupied[b] = true;
+            this.reachable = flood(player, occupied);
+            this.key = new StateKey(boxes, firstReachable(reachable));
+        }
+
+/*
+        Every box can be pulled in a direction if Sokoban can reach the cell next to it on that side
+        and the cell beyond that one is free: Sokoban steps back there, dragging the box along
+*/
+        ArrayList<PullState> pull() {
+            ArrayList<PullState> pulled = new ArrayList<>();
+            for (int b = 0; b < boxes.length; b++) {
+                for (int d = 0; d < OFFSETS.length; d++) {
+                    int standing = neighbour(boxes[b], OFFSETS[d]);
+                    if (standing < 0 || !reachable[standing])
+                        continue;
+                    int backing = neighbour(standing, OFFSETS[d]);
+                    if (backing < 0 || walls[backing] || !reachable[backing])
+                        continue;
+
+                    int[] moved = boxes.clone();
+                    moved[b] = standing;
+                    Arrays.sort(moved);
+                    //pushing back towards the box from the cell Sokoban backed into undoes the pull
+                    pulled.add(new PullState(moved, backing, this, opposite(d), depth + 1));
+                }
+            }
+            return pulled;
+        }
+    }
+
+    private static Action opposite(int direction) {
+        return DIRECTIONS[direction].getOpposite(DIRECTIONS[direction]);
+    }
+}
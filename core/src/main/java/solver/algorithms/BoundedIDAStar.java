@@ -0,0 +1,149 @@
+package solver.algorithms;
+
+import game.GameBoard;
+import solver.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.logging.Logger;
+
+/*
+Memory-bounded continuation of the PQueue based searches, taking over when they run short of heap.
+It's an IDA* search with a transposition table like the one of TTIDAStar, except that the table holds a fixed number
+of states and forgets the least recently used ones to make room for new ones: a forgotten state just loses its backed
+up bound and gets its heuristic estimate again when it's met next.
+The first cutoff point is the bound proven by the search that ran out of memory, so the iterations it already
+covered aren't repeated.
+*/
+class BoundedIDAStar {
+    private static final Logger log = Logger.getLogger("BoundedIDAStar");
+    //lower bound of the states that can't lead to a solution at all
+    private static final int UNREACHABLE = Integer.MAX_VALUE / 2;
+
+    private final SolverContext context;
+    private final Map<Long, Bound> table;
+    private Node solution;
+    private int iteration;
+    //the transposition table of the transposer isn't bounded, so the nodes met are only counted here
+    private long examined = 0;
+
+/*
+    Entry of the transposition table
+*/
+    private static class Bound {
+        //best known lower bound on the cost of reaching a solution from the state
+        int bound;
+        //path cost of the last expansion of the state, and the iteration it happened in
+        int pathCost;
+        int iteration = -1;
+
+        Bound(int bound) {
+            this.bound = bound;
+        }
+    }
+
+    BoundedIDAStar(SolverContext context, int capacity) {
+        this.context = context;
+        //access ordered, so that the eldest entry is the least recently used one
+        this.table = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Bound> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+/*
+    Searches the level from its starting state, with the given bound as the first cutoff point
+*/
+    Node launch(GameBoard game, int bound) throws CloneNotSupportedException {
+        solution = null;
+        InformedNode root = new InformedNode(new Node(game, new ArrayList<>(), context), null, 0);
+        if (root.isGoal())
+            return root;
+        int limit = Math.max(bound, lookup(root).bound);
+
+        for (iteration = 0; !context.isInterrupted() && limit < UNREACHABLE; iteration++) {
+            context.getDetector().setPrunedNodes(0);
+            context.updateLowerBound(limit);
+            long start = System.currentTimeMillis();
+
+            int newLimit = recursiveComponent(root, limit);
+            log.info("Iteration " + iteration + " with cutoff point " + limit + " done in " +
+                    (System.currentTimeMillis() - start) + " ms: " + examined + " visited nodes, " + table.size() + " cached nodes");
+
+            if (solution != null)
+                return solution;
+            limit = newLimit;
+        }
+
+        return solution;
+    }
+
+/*
+    Searches the subtree of a node with the given cutoff point, returning the lowest f(n) found above it
+*/
+    private int recursiveComponent(InformedNode root, int limit) throws CloneNotSupportedException {
+        if (context.isInterrupted())
+            return UNREACHABLE;
+
+        Bound entry = lookup(root);
+        int label = root.getPathCost() + entry.bound;
+        if (label > limit)
+            return label;
+
+        if (root.isGoal()) {
+            solution = root;
+            return 0;
+        }
+
+        //transposition: the state was already searched in this iteration with a budget at least as large
+        if (entry.iteration == iteration && entry.pathCost <= root.getPathCost())
+            return UNREACHABLE;
+        entry.iteration = iteration;
+        entry.pathCost = root.getPathCost();
+
+        context.setLogLine("f(n) cutoff point: " + limit + "\nVisited nodes: " + examined +
+                "\nCached nodes: " + table.size());
+
+        PriorityQueue<InformedNode> queue = new PriorityQueue<>(VanillaAStar::compare);
+        ArrayList<InformedNode> expanded = (ArrayList<InformedNode>) root.expand();
+        for (InformedNode n : expanded) {
+            examined++;
+            n.setLabel(n.getPathCost() + lookup(n).bound);
+            queue.add(n);
+        }
+
+        int min = UNREACHABLE;
+        while (!queue.isEmpty()) {
+            min = Math.min(min, recursiveComponent(queue.remove(), limit));
+            if (solution != null)
+                return 0;
+        }
+
+        //backing up the lower bound, using the label of the children that were forgotten in the meantime
+        int backedUp = UNREACHABLE;
+        for (InformedNode n : expanded) {
+            Bound child = table.get(n.getHash());
+            int childBound = child == null ? n.getLabel() - n.getPathCost() : child.bound;
+            backedUp = Math.min(backedUp, n.getPathCost() - root.getPathCost() + childBound);
+        }
+        entry.bound = Math.max(entry.bound, backedUp);
+
+        return min;
+    }
+
+/*
+    Obtains the entry of a state from the table, adding it with the heuristic estimate as its bound if it's missing
+*/
+    private Bound lookup(InformedNode n) throws CloneNotSupportedException {
+        Bound entry = table.get(n.getHash());
+        if (entry == null) {
+            entry = new Bound(context.heuristicEstimate(n.getGame()));
+            table.put(n.getHash(), entry);
+        }
+        return entry;
+    }
+}
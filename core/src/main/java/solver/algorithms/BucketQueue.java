@@ -0,0 +1,123 @@
+package solver.algorithms;
+
+import solver.InformedNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+
+/*
+Bucketed priority queue used as the frontier of the PQueue based searches.
+Labels are small non-negative integers, so instead of keeping a heap ordered by a comparator the nodes are stored in an
+array of buckets indexed by label, each one split into sub-buckets indexed by the tie-breaking value of the node.
+Nodes in the same sub-bucket are popped last in, first out.
+Pushing and popping take constant time, apart from skipping the buckets that were emptied. Removing a node only
+forgets it: its entry stays where it is and gets thrown away when popping reaches it.
+*/
+class BucketQueue {
+    private final Algorithm.TieBreaker tieBreaker;
+    private final ArrayList<ArrayList<ArrayDeque<InformedNode>>> buckets = new ArrayList<>();
+
+    //nodes currently in the queue, by hash: an entry found in a bucket that isn't the one stored here is stale
+    private final HashMap<Long, InformedNode> live = new HashMap<>();
+
+    //no live entry can have a label lower than this one
+    private int minLabel = Integer.MAX_VALUE;
+
+    //sub-bucket holding the node returned by the last peek
+    private ArrayDeque<InformedNode> topBucket;
+
+    BucketQueue(Algorithm.TieBreaker tieBreaker) {
+        this.tieBreaker = tieBreaker;
+    }
+
+/*
+    Inserts a node into the bucket of its label. An older entry for the same state, if any, becomes stale.
+*/
+    void add(InformedNode n) throws CloneNotSupportedException {
+        int label = n.getLabel();
+        int tie = tieBreaker.tieBreak(n);
+
+        while (buckets.size() <= label)
+            buckets.add(new ArrayList<>());
+        ArrayList<ArrayDeque<InformedNode>> bucket = buckets.get(label);
+        while (bucket.size() <= tie)
+            bucket.add(new ArrayDeque<>());
+
+        bucket.get(tie).addLast(n);
+        live.put(n.getHash(), n);
+        if (label < minLabel)
+            minLabel = label;
+    }
+
+/*
+    Returns the node with the lowest label and tie-breaking value without removing it, or null if the queue is empty.
+    Stale entries met on the way are thrown away.
+*/
+    InformedNode peek() throws CloneNotSupportedException {
+        if (live.isEmpty())
+            return null;
+
+        for (; minLabel < buckets.size(); minLabel++) {
+            for (ArrayDeque<InformedNode> subBucket : buckets.get(minLabel)) {
+                while (!subBucket.isEmpty()) {
+                    InformedNode top = subBucket.peekLast();
+                    if (live.get(top.getHash()) == top) {
+                        topBucket = subBucket;
+                        return top;
+                    }
+                    subBucket.pollLast();
+                }
+            }
+        }
+
+        return null;
+    }
+
+/*
+    Removes and returns the node with the lowest label and tie-breaking value
+*/
+    InformedNode remove() throws CloneNotSupportedException {
+        InformedNode top = peek();
+        if (top == null)
+            throw new NoSuchElementException();
+
+        topBucket.pollLast();
+        live.remove(top.getHash());
+        return top;
+    }
+
+/*
+    Removes the entry for the state of the given node, returning true if there was one
+*/
+    boolean remove(InformedNode n) throws CloneNotSupportedException {
+        return live.remove(n.getHash()) != null;
+    }
+
+/*
+    Returns the nodes currently in the queue, in no particular order
+*/
+    Collection<InformedNode> nodes() {
+        return live.values();
+    }
+
+/*
+    Throws away every node in the queue
+*/
+    void clear() {
+        buckets.clear();
+        live.clear();
+        minLabel = Integer.MAX_VALUE;
+        topBucket = null;
+    }
+
+    int size() {
+        return live.size();
+    }
+
+    boolean isEmpty() {
+        return live.isEmpty();
+    }
+}
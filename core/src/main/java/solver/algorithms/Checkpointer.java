@@ -0,0 +1,444 @@
+package solver.algorithms;
+
+import game.GameBoard;
+import solver.*;
+import solver.configuration.Configuration;
+import solver.configuration.Strategy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.zip.CRC32;
+import java.util.logging.Logger;
+
+/*
+Checkpoints of a long running search, so that it can be resumed after the process was stopped.
+The checkpoint directory holds a chain of segments and a manifest. A segment is written once, as a whole, and never
+changed afterwards: it holds the transpositions made since the previous segment, the frontier at the time it was
+written in the format of NodeCodec, the cutoff point reached by the search and its counters. The first segment of the
+chain, the base one, holds the whole transposition table instead: every few checkpoints a new base segment starts a
+new chain, and the old one is deleted.
+The manifest lists the segments of the chain with their size and checksum, and it's replaced atomically only after
+the segment was forced to disk. It also holds the level and the settings of the search that wrote it, so that only a
+search of the same level with the same settings picks it up. A resumed search goes on from the last segment of the
+longest part of the chain that's found intact.
+The search stands still while a checkpoint is written, so checkpoints are spaced out to keep the time spent on them
+within a share of the running time, judging from the time taken by the last one.
+*/
+public class Checkpointer {
+    private static final Logger log = Logger.getLogger("Checkpointer");
+    private static final int MAGIC = 0x534B4350;
+    private static final int VERSION = 3;
+    private static final String MANIFEST = "manifest";
+    //number of segments in a chain before a new base segment is written
+    private static final int CHAIN_LENGTH = 16;
+
+    private final Path directory;
+    private final NodeCodec codec;
+    private final SolverContext context;
+    //starting state of the level, encoded, to recognize the checkpoints of another level
+    private final byte[] level;
+    //shortest time between two checkpoints and share of the running time they can take
+    private final long interval;
+    private final double overhead;
+
+    private final ArrayList<Segment> chain = new ArrayList<>();
+    private int nextSegment = 0;
+
+    //transpositions made since the last segment was written
+    private long[] hashes = new long[1024];
+    private int[] depths = new int[1024];
+    private int journalSize = 0;
+
+    //time spent searching before this run and when this run started, in milliseconds
+    private long elapsedBefore = 0;
+    private final long started = System.currentTimeMillis();
+    private long lastEnd = started;
+    private long lastDuration = 0;
+    private boolean failed = false;
+
+    //what the search is resumed from: the frontier is handed over only once
+    private boolean resumed = false;
+    private int restoredBound = 0;
+    private ArrayList<InformedNode> restoredFrontier = null;
+
+/*
+    Segment of the chain, as listed in the manifest
+*/
+    private static class Segment {
+        final int number;
+        final long size;
+        final long checksum;
+
+        Segment(int number, long size, long checksum) {
+            this.number = number;
+            this.size = size;
+            this.checksum = checksum;
+        }
+    }
+
+    private Checkpointer(Path directory, GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        this.directory = directory;
+        this.codec = new NodeCodec(game);
+        this.context = context;
+        this.level = codec.encode(new Node(game, new ArrayList<>(), context));
+        this.interval = context.getConfiguration().getCheckpointInterval();
+        this.overhead = context.getConfiguration().getCheckpointOverhead();
+    }
+
+/*
+    Strategies whose searches can be checkpointed: the PQueue based ones, whose whole state is their frontier and their
+    transposition table, and IDA*, whose state is its cutoff point
+*/
+    public static boolean supports(Strategy strategy) {
+        return strategy == Strategy.ASTAR || strategy == Strategy.GBFS || strategy == Strategy.WASTAR ||
+                strategy == Strategy.IDASTAR;
+    }
+
+/*
+    Tells if there's a checkpoint to resume a search from in the given directory, intact or not
+*/
+    public static boolean exists(Path directory) {
+        return Files.exists(directory.resolve(MANIFEST));
+    }
+
+/*
+    Starts checkpointing a new search in the given directory, throwing away the checkpoints found there
+*/
+    public static Checkpointer start(Path directory, GameBoard game, SolverContext context)
+            throws IOException, CloneNotSupportedException {
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve(MANIFEST));
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "segment-*.bin")) {
+            for (Path segment : segments)
+                Files.delete(segment);
+        }
+        return new Checkpointer(directory, game, context);
+    }
+
+/*
+    Picks up a search from the latest intact checkpoint found in the given directory. The transpositions and the
+    counters saved are put back into the context straight away, while the frontier is handed over to the search.
+*/
+    public static Checkpointer resume(Path directory, GameBoard game, SolverContext context)
+            throws IOException, CloneNotSupportedException {
+        Checkpointer c = new Checkpointer(directory, game, context);
+        ByteBuffer manifest = read(directory.resolve(MANIFEST));
+        if (manifest.getInt() != MAGIC || manifest.getInt() != VERSION)
+            throw new IOException("No checkpoint manifest of a known version found in " + directory);
+        String settings = getString(manifest);
+        if (!settings.equals(settings(context.getConfiguration())))
+            throw new IOException("The checkpoint in " + directory + " was written by a search with another configuration: " +
+                    settings + " instead of " + settings(context.getConfiguration()));
+        if (!Arrays.equals(getBytes(manifest), c.level))
+            throw new IOException("The checkpoint in " + directory + " was written for another level");
+
+        //the chain is cut at the first segment that's missing or damaged
+        int count = manifest.getInt();
+        boolean intact = true;
+        for (int i = 0; i < count; i++) {
+            Segment s = new Segment(manifest.getInt(), manifest.getLong(), manifest.getLong());
+            c.nextSegment = Math.max(c.nextSegment, s.number + 1);
+            intact = intact && c.isIntact(s);
+            if (intact)
+                c.chain.add(s);
+            else {
+                log.warning("Checkpoint segment " + s.number + " is damaged, it's left out");
+                Files.deleteIfExists(c.segmentFile(s.number));
+            }
+        }
+        if (c.chain.isEmpty())
+            throw new IOException("No intact checkpoint found in " + directory);
+
+        Transposer transposer = context.getTransposer();
+        for (int i = 0; i < c.chain.size(); i++) {
+            ByteBuffer segment = read(c.segmentFile(c.chain.get(i).number));
+            segment.getInt();
+            segment.getInt();
+            long elapsed = segment.getLong();
+            int bound = segment.getInt();
+            int pruned = segment.getInt();
+
+            int transpositions = segment.getInt();
+            for (int t = 0; t < transpositions; t++)
+                transposer.restoreTransposition(segment.getLong(), segment.getInt());
+
+            //the frontier and the counters of the older segments are out of date
+            if (i < c.chain.size() - 1)
+                continue;
+            c.elapsedBefore = elapsed;
+            c.restoredBound = bound;
+            context.updateLowerBound(bound);
+            context.getDetector().setPrunedNodes(pruned);
+            int frontier = segment.getInt();
+            c.restoredFrontier = new ArrayList<>(frontier);
+            for (int n = 0; n < frontier; n++) {
+                int label = segment.getInt();
+                int secondaryLabel = segment.getInt();
+                InformedNode node = new InformedNode(c.codec.decode(getBytes(segment), context), null, label);
+                node.setSecondaryLabel(secondaryLabel);
+                c.restoredFrontier.add(node);
+            }
+        }
+
+        c.resumed = true;
+        c.writeManifest();
+        log.info("Resuming from checkpoint " + c.chain.get(c.chain.size() - 1).number + ": " +
+                transposer.getExaminedNodes() + " transpositions, " + c.restoredFrontier.size() +
+                " nodes in the frontier, cutoff point " + c.restoredBound);
+        return c;
+    }
+
+/*
+    Tells if it's time to write a checkpoint: the time since the last one has to be long enough for the time taken
+    to write it to stay within the allowed share
+*/
+    public boolean isDue() {
+        long now = System.currentTimeMillis();
+        return !failed && now - lastEnd >= Math.max(interval, (long) (lastDuration / overhead));
+    }
+
+/*
+    Keeps note of a node that was added to the transposition table, to be saved in the next segment
+*/
+    public void transposed(InformedNode n) throws CloneNotSupportedException {
+        record(n.getHash(), n.getPathCost());
+    }
+
+    private void record(long hash, int depth) {
+        if (journalSize == hashes.length) {
+            hashes = Arrays.copyOf(hashes, journalSize * 2);
+            depths = Arrays.copyOf(depths, journalSize * 2);
+        }
+        hashes[journalSize] = hash;
+        depths[journalSize++] = depth;
+    }
+
+/*
+    Writes a checkpoint with the given frontier and cutoff point. If it can't be written, the search goes on without
+    checkpoints. Searches write one as well when they're interrupted, whether it's due or not, so that nothing done
+    since the last one is lost.
+*/
+    public void write(Collection<InformedNode> frontier, int bound) throws CloneNotSupportedException {
+        if (failed)
+            return;
+        long start = System.currentTimeMillis();
+        boolean base = chain.isEmpty() || chain.size() >= CHAIN_LENGTH;
+        if (base) {
+            journalSize = 0;
+            context.getTransposer().forEachTransposition(this::record);
+        }
+
+        int number = nextSegment++;
+        try {
+            Segment written;
+            try (SegmentWriter w = new SegmentWriter(segmentFile(number))) {
+                w.putInt(MAGIC);
+                w.putInt(base ? 1 : 0);
+                w.putLong(getElapsed());
+                w.putInt(bound);
+                w.putInt(context.getDetector().getPrunedNodes());
+
+                w.putInt(journalSize);
+                for (int i = 0; i < journalSize; i++) {
+                    w.putLong(hashes[i]);
+                    w.putInt(depths[i]);
+                }
+
+                w.putInt(frontier.size());
+                for (InformedNode n : frontier) {
+                    w.putInt(n.getLabel());
+                    w.putInt(n.getSecondaryLabel());
+                    w.putBytes(codec.encode(n));
+                }
+                w.force();
+                written = new Segment(number, w.size, w.crc.getValue());
+            }
+
+            //the old chain is only deleted once the manifest points to the new one
+            ArrayList<Segment> old = new ArrayList<>();
+            if (base) {
+                old.addAll(chain);
+                chain.clear();
+            }
+            chain.add(written);
+            writeManifest();
+            for (Segment s : old)
+                Files.deleteIfExists(segmentFile(s.number));
+        } catch (IOException e) {
+            log.warning("Checkpoint " + number + " couldn't be written, the search goes on without checkpoints: " + e);
+            failed = true;
+            return;
+        } finally {
+            journalSize = 0;
+        }
+
+        lastEnd = System.currentTimeMillis();
+        lastDuration = lastEnd - start;
+        log.info("Checkpoint " + number + (base ? " (base)" : "") + " written in " + lastDuration + " ms: " +
+                frontier.size() + " nodes in the frontier, cutoff point " + bound);
+    }
+
+/*
+    Replaces the manifest with one listing the current chain
+*/
+    private void writeManifest() throws IOException {
+        Path temporary = directory.resolve(MANIFEST + ".tmp");
+        Files.deleteIfExists(temporary);
+        try (SegmentWriter w = new SegmentWriter(temporary)) {
+            w.putInt(MAGIC);
+            w.putInt(VERSION);
+            w.putBytes(settings(context.getConfiguration()).getBytes(StandardCharsets.UTF_8));
+            w.putBytes(level);
+            w.putInt(chain.size());
+            for (Segment s : chain) {
+                w.putInt(s.number);
+                w.putLong(s.size);
+                w.putLong(s.checksum);
+            }
+            w.force();
+        }
+        Files.move(temporary, directory.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+/*
+    Settings of the configuration that shape the search space or the labels of the nodes: a checkpoint can only be
+    picked up by a search that has all of them the same
+*/
+    private static String settings(Configuration configuration) {
+        return configuration.getStrategy().name() + " " + configuration.getHeuristic().name() + " " +
+                configuration.getExpansionScheme().name() + " " + configuration.getRoutine().name() +
+                " weight=" + configuration.getWeight() + " tunnelMacros=" + configuration.isTunnelMacros() +
+                " goalMacros=" + configuration.isGoalMacros() + " lexicographicCost=" + configuration.isLexicographicCost();
+    }
+
+    private boolean isIntact(Segment s) throws IOException {
+        Path file = segmentFile(s.number);
+        if (!Files.exists(file) || Files.size(file) != s.size)
+            return false;
+        CRC32 crc = new CRC32();
+        crc.update(read(file));
+        return crc.getValue() == s.checksum;
+    }
+
+    private Path segmentFile(int number) {
+        return directory.resolve(String.format("segment-%06d.bin", number));
+    }
+
+    private static ByteBuffer read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return mapped;
+        }
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        return new String(getBytes(buffer), StandardCharsets.UTF_8);
+    }
+
+/*
+    Time spent on the search so far, over all the runs that picked it up, in milliseconds
+*/
+    public long getElapsed() {
+        return elapsedBefore + System.currentTimeMillis() - started;
+    }
+
+    public long getElapsedBefore() {
+        return elapsedBefore;
+    }
+
+    public boolean isResumed() {
+        return resumed;
+    }
+
+    //cutoff point saved by the checkpoint the search was resumed from
+    public int getRestoredBound() {
+        return restoredBound;
+    }
+
+/*
+    Hands over the frontier saved by the checkpoint the search was resumed from, or null if there's none.
+    It's only handed over once, so that the nodes aren't kept here after the search is done with them.
+*/
+    public ArrayList<InformedNode> takeRestoredFrontier() {
+        ArrayList<InformedNode> frontier = restoredFrontier;
+        restoredFrontier = null;
+        return frontier;
+    }
+
+/*
+    Writes a new file through a large buffer, computing its checksum on the way
+*/
+    private static class SegmentWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(RunFile.BUFFER_SIZE);
+        private final CRC32 crc = new CRC32();
+        private long size = 0;
+
+        SegmentWriter(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        //bytes are preceded by their length
+        void putBytes(byte[] bytes) throws IOException {
+            putInt(bytes.length);
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        private void ensure(int needed) throws IOException {
+            if (buffer.remaining() < needed)
+                drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            size += buffer.remaining();
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            buffer.clear();
+        }
+
+        //makes sure that everything written so far is on disk
+        void force() throws IOException {
+            drain();
+            channel.force(true);
+        }
+
+        @Override
+        public void close() throws IOException {
+            drain();
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package solver.algorithms;
+
+import game.GameBoard;
+import solver.*;
+
+import solver.algorithms.RunFile.Cursor;
+import solver.algorithms.RunFile.Record;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.logging.Logger;
+
+/*
+Implementation of an external memory A* search.
+Only the lowest f-layers of the frontier are kept in memory, in the same bucketed queue used by vanilla A*.
+Nodes generated with a higher label are encoded in the compact format of NodeCodec and collected by label: whenever
+a layer collects enough of them, they are sorted by hash and written to disk as a RunFile.
+When the search runs out of nodes in memory, the next layers are loaded back by reading their runs sequentially
+through memory mapped buffers and merging them: since every run is sorted by hash, copies of the same state meet
+in the merge and only one of them survives.
+Duplicates are detected against a LabelTable, which stays in memory: it takes 24 to 48 bytes for every state met,
+whereas every node in the frontier holds a whole board, so the table is what eventually bounds the search, at 2^29
+states or whenever the heap runs out.
+*/
+public class ExternalAStar extends Algorithm{
+    private static final Logger log = Logger.getLogger("ExternalAStar");
+    //number of f-layers kept in memory, starting from the lowest one
+    private static final int MEMORY_LAYERS = 2;
+    //number of nodes a layer collects before they're written to disk as a run
+    private static final int RUN_SIZE = 8192;
+
+    private SolverContext context;
+    private Transposer transposer;
+    private LabelTable table;
+    private NodeCodec codec;
+    private Path directory;
+
+    //layers stored away from memory, by label
+    private final TreeMap<Integer, Layer> layers = new TreeMap<>();
+    //nodes with a label lower than this one are kept in memory
+    private int memoryLimit;
+    private long spilledNodes = 0;
+    private int writtenRuns = 0;
+
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        this.context = context;
+        this.transposer = context.getTransposer();
+        this.table = new LabelTable();
+        this.codec = new NodeCodec(game);
+        context.setLogLine("Top label value: " + "\nFrontier size: 0" + "\nSpilled nodes: 0" + "\nVisited nodes: 0");
+
+        try {
+            directory = Files.createTempDirectory("sokobot-frontier");
+            return search(game);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteRuns();
+        }
+    }
+
+    private Node search(GameBoard game) throws CloneNotSupportedException, IOException {
+        BucketQueue frontier = new BucketQueue(VanillaAStar::tieBreak);
+
+        InformedNode root = new InformedNode(game, new ArrayList<>(), null, context.heuristicEstimate(game), context);
+        memoryLimit = root.getLabel() + MEMORY_LAYERS;
+        frontier.add(root);
+        table.open(root.getHash(), root.getLabel());
+        transposer.countExaminedNodes(1);
+
+        while (!context.isInterrupted()) {
+
+            //when the layers in memory are over, the next ones are loaded back from disk
+            if (frontier.isEmpty()) {
+                if (layers.isEmpty())
+                    return null;
+                memoryLimit = layers.firstKey() + MEMORY_LAYERS;
+                while (!layers.isEmpty() && layers.firstKey() < memoryLimit)
+                    load(layers.pollFirstEntry().getValue(), frontier);
+                continue;
+            }
+
+            InformedNode examined = frontier.remove();
+            table.close(examined.getHash());
+
+            //SOLUTION
+            if (examined.isGoal()) {
+                return examined;
+            }
+
+            ArrayList<InformedNode> expanded = (ArrayList<InformedNode>) examined.expand();
+            for (InformedNode n : expanded) {
+                VanillaAStar.assignLabel(n);
+
+                //same duplicate checks as vanilla A*. A node improving on the label of a state stored on disk
+                //is simply stored again: the old copy won't match the table anymore and will be dropped
+                if (!table.improves(n.getHash(), n.getLabel()))
+                    continue;
+                if (!table.contains(n.getHash()))
+                    transposer.countExaminedNodes(1);
+                frontier.remove(n);
+                table.open(n.getHash(), n.getLabel());
+                insert(n, frontier);
+            }
+
+            //logging
+            if (frontier.peek() != null)
+                context.setLogLine("Top label value: " + frontier.peek().getLabel() + "\nFrontier size: " + frontier.size() +
+                        "\nSpilled nodes: " + spilledNodes + "\nVisited nodes: " + transposer.getExaminedNodes());
+        }
+
+        return null;
+    }
+
+/*
+    Adds a node to the frontier in memory if its label falls into the layers kept there, otherwise stores it away
+*/
+    private void insert(InformedNode n, BucketQueue frontier) throws CloneNotSupportedException, IOException {
+        if (n.getLabel() < memoryLimit) {
+            frontier.add(n);
+            return;
+        }
+
+        Layer layer = layers.computeIfAbsent(n.getLabel(), Layer::new);
+        layer.pending.add(new Record(n.getHash(), codec.encode(n)));
+        spilledNodes++;
+        if (layer.pending.size() >= RUN_SIZE)
+            layer.flush();
+    }
+
+/*
+    Merges the runs of a layer, together with the nodes it didn't write to disk yet, into the frontier.
+    Only one copy of every state gets through, and only if it's still open with the label of the layer:
+    otherwise the state was found again with a better label or it was examined in the meantime.
+*/
+    private void load(Layer layer, BucketQueue frontier) throws CloneNotSupportedException, IOException {
+        long start = System.currentTimeMillis();
+        PriorityQueue<Cursor> merge = new PriorityQueue<>(Comparator.comparingLong(c -> c.current().hash));
+
+        layer.pending.sort(Comparator.comparingLong(r -> r.hash));
+        Cursor memory = RunFile.of(layer.pending.iterator());
+        if (memory.advance())
+            merge.add(memory);
+        for (Path run : layer.runs) {
+            Cursor cursor = RunFile.map(run);
+            if (cursor.advance())
+                merge.add(cursor);
+        }
+
+        int loaded = 0;
+        Long previous = null;
+        while (!merge.isEmpty()) {
+            Cursor cursor = merge.poll();
+            Record record = cursor.current();
+            if (cursor.advance())
+                merge.add(cursor);
+
+            if (previous != null && previous == record.hash)
+                continue;
+            previous = record.hash;
+
+            if (table.isOpen(record.hash, layer.label)) {
+                Node decoded = codec.decode(record.node, context);
+                frontier.add(new InformedNode(decoded, null, layer.label));
+                loaded++;
+            }
+        }
+
+        for (Path run : layer.runs)
+            Files.deleteIfExists(run);
+
+        log.info("Layer " + layer.label + ": " + loaded + " nodes loaded from " + layer.runs.size() + " runs in " +
+                (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private void deleteRuns() {
+        if (directory == null)
+            return;
+        try {
+            for (Layer layer : layers.values()) {
+                for (Path run : layer.runs)
+                    Files.deleteIfExists(run);
+            }
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            log.warning("Couldn't delete the frontier files in " + directory);
+        }
+    }
+
+/*
+    Nodes of the frontier sharing the same label and stored away from memory
+*/
+    private class Layer {
+        private final int label;
+        private final ArrayList<Record> pending = new ArrayList<>();
+        private final ArrayList<Path> runs = new ArrayList<>();
+
+        Layer(int label) {
+            this.label = label;
+        }
+
+/*
+        Writes the pending nodes to a new run file, sorted by hash
+*/
+        void flush() throws IOException {
+            pending.sort(Comparator.comparingLong(r -> r.hash));
+            Path run = directory.resolve("f" + label + "-" + writtenRuns++ + ".run");
+
+            try (RunFile.Writer writer = new RunFile.Writer(run)) {
+                for (Record r : pending)
+                    writer.write(r);
+            }
+
+            runs.add(run);
+            pending.clear();
+        }
+    }
+}
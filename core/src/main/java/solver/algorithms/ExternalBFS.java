@@ -0,0 +1,206 @@
+package solver.algorithms;
+
+import game.GameBoard;
+import solver.Node;
+import solver.SolverContext;
+import solver.algorithms.RunFile.Cursor;
+import solver.algorithms.RunFile.Record;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/*
+Implementation of a disk based BFS search with delayed duplicate detection.
+Nothing but the nodes being expanded and a buffer of their children is kept in memory: every depth level is a RunFile
+on disk, and the states seen so far are another file holding their hashes, sorted.
+The children of a level are collected in sorted runs while the level is read. Once the level is over, duplicates
+are removed all at once by merging the runs with the file of the states already seen, which gives both the next
+level and the new file of seen states in a single sequential pass.
+The push graph of Sokoban isn't undirected, a state can be reached again many levels after the one it was found in,
+so children are checked against all the states seen so far and not just against the last two levels.
+*/
+public class ExternalBFS extends Algorithm{
+    private static final Logger log = Logger.getLogger("ExternalBFS");
+    //number of children collected in memory before they're sorted and written to disk as a run
+    private static final int RUN_SIZE = 65536;
+    private static final byte[] NO_NODE = new byte[0];
+
+    private SolverContext context;
+    private NodeCodec codec;
+    private Path directory;
+    private int writtenFiles = 0;
+
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        this.context = context;
+        this.codec = new NodeCodec(game);
+        context.setLogLine("Depth level 0" + "\nFront size: 0" + "\nExplored nodes: 0");
+
+        try {
+            directory = Files.createTempDirectory("sokobot-bfs");
+            return search(game);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteFiles();
+        }
+    }
+
+    private Node search(GameBoard game) throws CloneNotSupportedException, IOException {
+        Node root = new Node(game, new ArrayList<>(), context);
+        if (root.isGoal()) {
+            return root;
+        }
+
+        Path level = newFile("level");
+        Path seen = newFile("seen");
+        try (RunFile.Writer levelWriter = new RunFile.Writer(level); RunFile.Writer seenWriter = new RunFile.Writer(seen)) {
+            levelWriter.write(new Record(root.hash(), codec.encode(root)));
+            seenWriter.write(new Record(root.hash(), NO_NODE));
+        }
+        long levelSize = 1;
+        long seenSize = 1;
+
+        for (int count = 0; !context.isInterrupted(); count++) {
+            if (levelSize == 0) return null;
+
+            context.setLogLine("Depth level " + count + "\nFront size: " + levelSize + "\nExplored nodes: " + seenSize);
+            long start = System.currentTimeMillis();
+
+            //expanding the current level, collecting the children in sorted runs
+            ArrayList<Path> runs = new ArrayList<>();
+            ArrayList<Record> buffer = new ArrayList<>();
+            try (Cursor cursor = RunFile.stream(level)) {
+                while (cursor.advance()) {
+                    if (context.isInterrupted())
+                        return null;
+
+                    //the states are kept on disk, the transposer only counts them
+                    context.getTransposer().countExaminedNodes(1);
+                    for (Node v : codec.decode(cursor.current().node, context).expand()) {
+                        if (v.isGoal()) {
+                            return v;
+                        }
+                        buffer.add(new Record(v.hash(), codec.encode(v)));
+                        if (buffer.size() >= RUN_SIZE)
+                            runs.add(writeRun(buffer));
+                    }
+                }
+            }
+
+            //delayed duplicate detection: one merge gives the next level and the new set of seen states
+            Path nextLevel = newFile("level");
+            Path nextSeen = newFile("seen");
+            buffer.sort(Comparator.comparingLong(r -> r.hash));
+            try (RunFile.Writer levelWriter = new RunFile.Writer(nextLevel);
+                 RunFile.Writer seenWriter = new RunFile.Writer(nextSeen)) {
+                merge(runs, buffer, seen, levelWriter, seenWriter);
+                levelSize = levelWriter.getWritten();
+                seenSize = seenWriter.getWritten();
+            }
+
+            for (Path run : runs)
+                Files.delete(run);
+            Files.delete(level);
+            Files.delete(seen);
+            level = nextLevel;
+            seen = nextSeen;
+
+            log.info("Depth level " + count + " expanded in " + (System.currentTimeMillis() - start) + " ms: " +
+                    levelSize + " new nodes, " + seenSize + " explored nodes, " + runs.size() + " runs");
+        }
+
+        return null;
+    }
+
+/*
+    Merges the runs of children, sorted by hash, with the file of the states seen so far.
+    The first copy of every state that wasn't seen before goes into the next level, while every state met in the merge
+    goes into the new file of seen states.
+*/
+    private void merge(ArrayList<Path> runs, ArrayList<Record> buffer, Path seen,
+                       RunFile.Writer levelWriter, RunFile.Writer seenWriter) throws IOException {
+        PriorityQueue<Cursor> children = new PriorityQueue<>(Comparator.comparingLong(c -> c.current().hash));
+        ArrayList<Cursor> opened = new ArrayList<>();
+
+        try (Cursor old = RunFile.stream(seen)) {
+            opened.add(RunFile.of(buffer.iterator()));
+            for (Path run : runs)
+                opened.add(RunFile.stream(run));
+            for (Cursor c : opened) {
+                if (c.advance())
+                    children.add(c);
+            }
+
+            boolean oldLeft = old.advance();
+            Long previous = null;
+            while (!children.isEmpty()) {
+                Cursor cursor = children.poll();
+                Record child = cursor.current();
+                if (cursor.advance())
+                    children.add(cursor);
+
+                //copies of the same state generated in this level
+                if (previous != null && previous == child.hash)
+                    continue;
+                previous = child.hash;
+
+                //states seen before this one are carried over
+                while (oldLeft && old.current().hash < child.hash) {
+                    seenWriter.write(old.current());
+                    oldLeft = old.advance();
+                }
+
+                //states seen in a previous level
+                if (oldLeft && old.current().hash == child.hash)
+                    continue;
+
+                levelWriter.write(child);
+                seenWriter.write(new Record(child.hash, NO_NODE));
+            }
+
+            while (oldLeft) {
+                seenWriter.write(old.current());
+                oldLeft = old.advance();
+            }
+        } finally {
+            for (Cursor c : opened)
+                c.close();
+        }
+    }
+
+    private Path writeRun(ArrayList<Record> buffer) throws IOException {
+        buffer.sort(Comparator.comparingLong(r -> r.hash));
+        Path run = newFile("run");
+        try (RunFile.Writer writer = new RunFile.Writer(run)) {
+            for (Record r : buffer)
+                writer.write(r);
+        }
+        buffer.clear();
+        return run;
+    }
+
+    private Path newFile(String prefix) {
+        return directory.resolve(prefix + "-" + writtenFiles++);
+    }
+
+    private void deleteFiles() {
+        if (directory == null)
+            return;
+        try (Stream<Path> files = Files.list(directory)) {
+            Iterator<Path> iterator = files.iterator();
+            while (iterator.hasNext())
+                Files.deleteIfExists(iterator.next());
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            log.warning("Couldn't delete the search files in " + directory);
+        }
+    }
+}
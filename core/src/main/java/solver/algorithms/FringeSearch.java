@@ -0,0 +1,88 @@
+package solver.algorithms;
+
+import game.GameBoard;
+import solver.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.logging.Logger;
+
+/*
+Implementation of a Fringe Search.
+Like IDA*, it searches with an increasing cutoff point on f(n) = g(n) + h(n), but the frontier of every iteration is
+kept instead of being found again from the root: nodes under the cutoff point are expanded depth first from the "now"
+list, while nodes above it are set aside in the "later" list, which becomes the "now" list of the next iteration.
+No sorted open list is needed, and the only thing kept for the states already met is their best path cost, held in
+the transposition table of the search.
+A state reached again through a shorter path is added to the lists once more: the old copy is left where it is and
+skipped when its turn comes, since its path cost is no longer the best one known for its state.
+*/
+public class FringeSearch extends Algorithm{
+    private static final Logger log = Logger.getLogger("FringeSearch");
+
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        Transposer transposer = context.getTransposer();
+        context.setLogLine("f(n) cutoff point: 0" + "\nFringe size: 0" + "\nVisited nodes: 0");
+
+        InformedNode root = new InformedNode(game, new ArrayList<>(), null, 0, context);
+        VanillaAStar.assignLabel(root);
+        transposer.transpose(root);
+
+        ArrayDeque<InformedNode> now = new ArrayDeque<>();
+        ArrayDeque<InformedNode> later = new ArrayDeque<>();
+        now.push(root);
+        int limit = root.getLabel();
+
+        for (int count = 0; !now.isEmpty() && !context.isInterrupted(); count++) {
+            int newLimit = Integer.MAX_VALUE;
+            context.updateLowerBound(limit);
+            long start = System.currentTimeMillis();
+
+            while (!now.isEmpty()) {
+                if (context.isInterrupted())
+                    return null;
+
+                InformedNode examined = now.pop();
+                //a copy left behind when the state was reached through a shorter path
+                if (!transposer.hasDepth(examined.getHash(), examined.getPathCost()))
+                    continue;
+
+                if (examined.getLabel() > limit) {
+                    newLimit = Math.min(newLimit, examined.getLabel());
+                    later.add(examined);
+                    continue;
+                }
+
+                if (examined.isGoal())
+                    return examined;
+
+                //children go on top of the "now" list, the most promising one last so that it's examined first
+                ArrayList<InformedNode> expanded = new ArrayList<>();
+                for (InformedNode n : (ArrayList<InformedNode>) examined.expand()) {
+                    if (transposer.transpose(n)) {
+                        VanillaAStar.assignLabel(n);
+                        expanded.add(n);
+                    }
+                }
+                expanded.sort(VanillaAStar::compare);
+                for (int i = expanded.size() - 1; i >= 0; i--)
+                    now.push(expanded.get(i));
+
+                context.setLogLine("f(n) cutoff point: " + limit + "\nFringe size: " + (now.size() + later.size()) +
+                        "\nVisited nodes: " + transposer.getExaminedNodes());
+            }
+
+            log.info("Iteration " + count + " with cutoff point " + limit + " done in " +
+                    (System.currentTimeMillis() - start) + " ms: " + later.size() + " nodes in the fringe, " +
+                    transposer.getExaminedNodes() + " visited nodes");
+
+            //the nodes set aside become the fringe of the next iteration
+            ArrayDeque<InformedNode> swap = now;
+            now = later;
+            later = swap;
+            limit = newLimit;
+        }
+
+        return null;
+    }
+}
@@ -8,9 +8,9 @@ import solver.*;
 // for Priority Queue insertion and extraction order and how we label nodes. This time, f(n) = h(n) for any given node.
 public class GreedyBFS extends Algorithm{
 
-    public Node launch(GameBoard game) throws CloneNotSupportedException {
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
         //Passing the node comparison logic method and the node labelling logic method
-        return super.launchPQueueSearch(game, GreedyBFS::compare, GreedyBFS::assignLabel);
+        return super.launchPQueueSearch(game, context, GreedyBFS::tieBreak, GreedyBFS::assignLabel);
     }
 
     protected static int compare(InformedNode informedNode, InformedNode t1) {
@@ -23,8 +23,13 @@ public class GreedyBFS extends Algorithm{
         return comparison;
     }
 
+    protected static int tieBreak(InformedNode informedNode) {
+        //tie breaker: inertia, like in compare
+        return SokobanToolkit.isPushedByInertia(informedNode, informedNode.getParent()) ? 1 : 0;
+    }
+
     protected static void assignLabel(InformedNode informedNode) {
-        informedNode.setLabel(SokobanToolkit.heuristicEstimate(informedNode.getGame()));
+        informedNode.setLabel(informedNode.getContext().heuristicEstimate(informedNode.getGame()));
     }
 
 }
@@ -0,0 +1,201 @@
+package solver.algorithms;
+
+import game.GameBoard;
+import solver.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/*
+Implementation of a Hash Distributed A* search.
+The search space is split among a number of workers by the hash of the states: every worker owns the states whose hash
+falls into its partition, keeping them in its own frontier and in its own Transposer.
+Whenever a worker generates a node owned by somebody else, the node is sent to the owner through a lock-free queue.
+Labels are the same as in vanilla A*, f(n) = g(n) + h(n).
+*/
+public class HDAStar extends Algorithm{
+    private static final Logger log = Logger.getLogger("HDAStar");
+    private SolverContext context;
+    private Worker[] workers;
+
+    //best solution found so far by any of the workers
+    private final AtomicReference<InformedNode> incumbent = new AtomicReference<>(null);
+
+    //counters of the nodes sent and received through the queues, used to detect termination
+    private final AtomicLong sent = new AtomicLong(0);
+    private final AtomicLong received = new AtomicLong(0);
+    private volatile boolean done = false;
+    private final AtomicReference<CloneNotSupportedException> failure = new AtomicReference<>(null);
+
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        this.context = context;
+        int parallelism = Math.max(1, context.getConfiguration().getParallelism());
+        context.setLogLine("Workers: " + parallelism + "\nBest solution: none" + "\nVisited nodes: 0");
+
+        //every worker gets its own partition of the transposition table
+        Transposer[] partitions = context.getTransposer().createPartitions(parallelism);
+        workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(i, partitions[i]);
+        }
+
+        //the root is handed to its owner before anything starts
+        InformedNode root = new InformedNode(game, new ArrayList<>(), null, context.heuristicEstimate(game), context);
+        workers[owner(root)].accept(root);
+
+        Thread[] threads = new Thread[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            threads[i] = new Thread(workers[i], "HDAStar-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+
+        //the launching thread only checks for termination and keeps the log line updated
+        while (!done) {
+            if (context.isInterrupted() || isTerminated()) {
+                done = true;
+                break;
+            }
+            InformedNode best = incumbent.get();
+            context.setLogLine("Workers: " + parallelism + "\nBest solution: " + (best == null ? "none" : best.getPathCost()) +
+                    "\nVisited nodes: " + context.getTransposer().getExaminedNodes());
+            LockSupport.parkNanos(1_000_000);
+        }
+
+        for (Thread t : threads) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (failure.get() != null)
+            throw failure.get();
+
+        return incumbent.get();
+    }
+
+/*
+    The search is over when every worker is out of nodes that could improve on the incumbent solution
+    and every node that was sent was also received.
+    The received counter is read before the idle flags and the sent counter after them: since a worker leaves the idle
+    state before counting a received node, equal counters mean that no node was travelling while the flags were read.
+*/
+    private boolean isTerminated() {
+        long receivedBefore = received.get();
+        for (Worker w : workers) {
+            if (!w.idle)
+                return false;
+        }
+        return receivedBefore == sent.get();
+    }
+
+    private int owner(InformedNode n) throws CloneNotSupportedException {
+        return (int) Math.floorMod(n.getHash(), (long) workers.length);
+    }
+
+/*
+    A worker runs a plain A* over the states it owns, with its own frontier and its own transposition table.
+*/
+    private class Worker implements Runnable {
+        private final int id;
+        private final Transposer transposer;
+        private final IndexedHeap frontier = new IndexedHeap(VanillaAStar::compare);
+        private final ConcurrentLinkedQueue<InformedNode> inbox = new ConcurrentLinkedQueue<>();
+        private volatile boolean idle = false;
+
+        Worker(int id, Transposer transposer) {
+            this.id = id;
+            this.transposer = transposer;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!done && !context.isInterrupted()) {
+
+                    //collecting the nodes sent by the other workers
+                    InformedNode incoming = inbox.poll();
+                    if (incoming != null) {
+                        idle = false;
+                        do {
+                            accept(incoming);
+                            received.incrementAndGet();
+                            incoming = inbox.poll();
+                        } while (incoming != null);
+                    }
+
+                    //a node is only worth examining if it can still improve on the incumbent solution
+                    InformedNode best = incumbent.get();
+                    if (frontier.isEmpty() || (best != null && frontier.peek().getLabel() >= best.getPathCost())) {
+                        idle = true;
+                        if (inbox.isEmpty())
+                            LockSupport.parkNanos(50_000);
+                        continue;
+                    }
+                    idle = false;
+
+                    InformedNode examined = frontier.remove();
+                    transposer.removeLabel(examined);
+
+                    //SOLUTION
+                    if (examined.isGoal()) {
+                        publish(examined);
+                        continue;
+                    }
+
+                    //expanding the current node and dispatching the children to their owners
+                    ArrayList<InformedNode> expanded = (ArrayList<InformedNode>) examined.expand();
+                    for (InformedNode n : expanded) {
+                        VanillaAStar.assignLabel(n);
+                        int owner = owner(n);
+                        if (owner == id)
+                            accept(n);
+                        else {
+                            sent.incrementAndGet();
+                            workers[owner].inbox.add(n);
+                        }
+                    }
+                }
+            } catch (CloneNotSupportedException e) {
+                failure.compareAndSet(null, e);
+                done = true;
+            }
+        }
+
+/*
+        Inserts a node owned by this worker into its frontier, with the same duplicate checks used by the sequential A*.
+        A node improving on the label of a state still in the frontier takes its place through a decrease-key.
+*/
+        private void accept(InformedNode n) throws CloneNotSupportedException {
+            if (transposer.hasBetterLabel(n)) {
+                if (frontier.decreaseKey(n)) {
+                    transposer.saveLabel(n);
+                }
+            }
+            else if (transposer.transpose(n)) {
+                transposer.saveLabel(n);
+                frontier.add(n);
+            }
+        }
+
+/*
+        Replaces the incumbent solution if the given goal node improves on it
+*/
+        private void publish(InformedNode goal) throws CloneNotSupportedException {
+            InformedNode current;
+            do {
+                current = incumbent.get();
+                if (!goal.isBetterGoalThan(current))
+                    return;
+            } while (!incumbent.compareAndSet(current, goal));
+        }
+    }
+
+}
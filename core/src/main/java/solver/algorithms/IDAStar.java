@@ -12,36 +12,48 @@ Implementation of an IDA* algorithm
 */
 public class IDAStar extends Algorithm{
     private static final Logger log = Logger.getLogger("IDASTAR");
-    private static Node solution;
+    private Node solution;
+    private SolverContext context;
 
-    public Node launch(GameBoard game) throws CloneNotSupportedException {
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        this.context = context;
+        Transposer transposer = context.getTransposer();
 
-        SokobanSolver.setLogLine("f(n) cutoff point: 0" + "\nVisited nodes: " +
+        context.setLogLine("f(n) cutoff point: 0" + "\nVisited nodes: " +
                 "\nCached nodes: ");
 
         //initializing variables, adding root node to the cache, starting with the initial lower bound of the solution
         //as the first limit for the iterative deepening
         solution = null;
-        InformedNode root = new InformedNode(new Node(game, new ArrayList<>()), null, 0 + SokobanToolkit.heuristicEstimate(game));
+        InformedNode root = new InformedNode(new Node(game, new ArrayList<>(), context), null, 0 + context.heuristicEstimate(game));
         int lowerBound = SokobanToolkit.estimateLowerBound(game);
         int limit = lowerBound;
+        //a resumed search goes on from the cutoff point of its checkpoint
+        if (checkpointer != null && checkpointer.isResumed())
+            limit = Math.max(limit, checkpointer.getRestoredBound());
 
         //Loop of the iterative deepening
-        for (int count = 0; !SokobanSolver.isInterrupted(); count++) {
+        for (int count = 0; !context.isInterrupted(); count++) {
 
             //Resetting everything
-            Transposer.resetSearchSpace();
-            Transposer.transpose(root);
-            DeadlockDetector.setPrunedNodes(0);
+            transposer.resetSearchSpace();
+            transposer.transpose(root);
+            context.getDetector().setPrunedNodes(0);
+            context.updateLowerBound(limit);
+            if (checkpointer != null && checkpointer.isDue())
+                checkpointer.write(Collections.emptyList(), limit);
 
             int newLimit;
             //launching the search on the current limit
             //the limit will be raised inside the recursive component and stored in newLimit
             if (solution == null)
-                newLimit = recursiveComponent(root, 0, limit);
+                newLimit = recursiveComponent(root, limit);
             else
                 break;
 
+            //an interrupted iteration hands back the node it was on, and the cutoff point stays the one it had
+            if (context.isInterrupted())
+                break;
             limit = newLimit;
 
             //If we found a solution in this iteration, we return it
@@ -50,15 +62,20 @@ public class IDAStar extends Algorithm{
             }
 
         }
+
+        //the search is picked up again from the start of the iteration it was interrupted in
+        if (checkpointer != null && context.isInterrupted() && (solution == null || !solution.isGoal()))
+            checkpointer.write(Collections.emptyList(), limit);
         return solution;
     }
 
-    private static int recursiveComponent (InformedNode root, int pathLength, int limit) throws CloneNotSupportedException {
-        SokobanSolver.setLogLine("f(n) cutoff point: " + limit + "\nVisited nodes: " + Transposer.getExaminedNodes() +
+    private int recursiveComponent (InformedNode root, int limit) throws CloneNotSupportedException {
+        Transposer transposer = context.getTransposer();
+        context.setLogLine("f(n) cutoff point: " + limit + "\nVisited nodes: " + transposer.getExaminedNodes() +
                 "\n");
 
         //SOLUTION OR INTERRUPTED SEARCH
-        if (root.isBetterGoalThan(solution) || SokobanSolver.isInterrupted()) {
+        if (root.isBetterGoalThan(solution) || context.isInterrupted()) {
             solution = root;
             return 0;
         }
@@ -76,10 +93,10 @@ public class IDAStar extends Algorithm{
         //ordered by their labels
         ArrayList<InformedNode> expanded = (ArrayList<InformedNode>) root.expand();
         for (InformedNode n : expanded) {
-            if (!Transposer.transpose(n))
+            if (!transposer.transpose(n))
                 continue;
             else {
-                n.setLabel(pathLength + SokobanToolkit.heuristicEstimate(n.getGame()));
+                n.setLabel(n.getPathCost() + context.heuristicEstimate(n.getGame()));
                 queue.add(n);
             }
         }
@@ -96,7 +113,7 @@ public class IDAStar extends Algorithm{
                 solution = queue.peek();
                 return 0;
             }
-            else temp = recursiveComponent(queue.remove(), pathLength + 1, limit);
+            else temp = recursiveComponent(queue.remove(), limit);
 
             if (temp < min) min = temp;
         }
@@ -13,11 +13,12 @@ Implementation of a DFS search with Iterative Deepening and ordering by inertia.
 */
 public class IDDFS extends Algorithm{
     private static final Logger log = Logger.getLogger("IDASTAR");
-    private static Node solution;
+    private Node solution;
 
-    public Node launch(GameBoard game) throws CloneNotSupportedException {
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        Transposer transposer = context.getTransposer();
 
-        SokobanSolver.setLogLine("f(n) cutoff point: 0" + "\nVisited nodes: " +
+        context.setLogLine("f(n) cutoff point: 0" + "\nVisited nodes: " +
                 "\nCached nodes: ");
 
         Stack<Node> visited = new Stack<Node>();
@@ -25,27 +26,28 @@ public class IDDFS extends Algorithm{
         //initializing variables, adding root node to the cache, starting with the initial lower bound of the solution
         //as the first limit for the iterative deepening
         solution = null;
-        Node root = new Node(game, new ArrayList<>());
+        Node root = new Node(game, new ArrayList<>(), context);
         int limit = SokobanToolkit.estimateLowerBound(game);
 
         //Loop of the iterative deepening
-        for (int count = 0; true; count++) {
+        for (int count = 0; !context.isInterrupted(); count++) {
 
             //initializing the current iteration
-            Transposer.resetSearchSpace();
-            Transposer.transpose(root);
+            transposer.resetSearchSpace();
+            transposer.transpose(root);
             visited.push(root);
-            DeadlockDetector.setPrunedNodes(0);
+            context.getDetector().setPrunedNodes(0);
 
-            while (!visited.empty() && !SokobanSolver.isInterrupted()) {
+            while (!visited.empty() && !context.isInterrupted()) {
                 Node current;
                 current = visited.pop();
 
                 //SOLUTION
                 if (current.isBetterGoalThan(solution)) return current;
 
-                //we surpassed the depth limit, we won't expand this node
-                if (current.getPathCost() == limit) continue;
+                //we reached the depth limit, we won't expand this node
+                //macro pushes cost more than a push, so a node can also be found past the limit
+                if (current.getPathCost() >= limit) continue;
 
                 //ordering the expanded nodes by inertia and pushing them into the stack in reverse order,
                 //so that nodes that should be visited first are pushed last
@@ -53,21 +55,24 @@ public class IDDFS extends Algorithm{
                 for (int i = expanded.size() - 1; i >= 0; i--) {
                     Node n = expanded.get(i);
 
+                    //a macro push may have taken the child past the limit: it belongs to a later iteration
+                    if (n.getPathCost() > limit) continue;
                     if (n.isBetterGoalThan(solution)) return n;
-                    if (current.getPathCost() == limit) continue;
 
-                    if (Transposer.transpose(n)) {
+                    if (transposer.transpose(n)) {
                         visited.push(n);
                     }
                 }
 
-                SokobanSolver.setLogLine("Depth cutoff point: " + limit + "\nVisited nodes: " + Transposer.getExaminedNodes() +
+                context.setLogLine("Depth cutoff point: " + limit + "\nVisited nodes: " + transposer.getExaminedNodes() +
                         "\nStacked nodes: " + visited.size());
             }
 
             limit++;
 
         }
+
+        return null;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package solver.algorithms;
+
+import solver.InformedNode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+
+/*
+Binary heap of nodes ordered by a comparator, indexed by the hash of the states.
+The index keeps the position of every state inside the heap array, so that a state already in the heap can be found
+without scanning it and its entry can be replaced by a node with a better label, sifting it up to its new place.
+This turns the "remove and insert again" needed to relabel a node in a PriorityQueue from a linear operation
+into a logarithmic one.
+*/
+class IndexedHeap {
+    private final Comparator<InformedNode> comparator;
+    private final ArrayList<InformedNode> heap = new ArrayList<>();
+    //position of every state in the heap array, by hash
+    private final HashMap<Long, Integer> index = new HashMap<>();
+
+    IndexedHeap(Comparator<InformedNode> comparator) {
+        this.comparator = comparator;
+    }
+
+    void add(InformedNode n) throws CloneNotSupportedException {
+        heap.add(n);
+        index.put(n.getHash(), heap.size() - 1);
+        siftUp(heap.size() - 1);
+    }
+
+    InformedNode peek() {
+        return heap.isEmpty() ? null : heap.get(0);
+    }
+
+/*
+    Removes and returns the first node in the ordering
+*/
+    InformedNode remove() throws CloneNotSupportedException {
+        if (heap.isEmpty())
+            throw new NoSuchElementException();
+
+        InformedNode top = heap.get(0);
+        removeAt(0);
+        return top;
+    }
+
+/*
+    Replaces the entry for the state of the given node with the node itself, moving it to its new place.
+    Meant to be used when the node improves on the label of the entry, returns false if the state isn't in the heap.
+*/
+    boolean decreaseKey(InformedNode n) throws CloneNotSupportedException {
+        Integer position = index.get(n.getHash());
+        if (position == null)
+            return false;
+
+        heap.set(position, n);
+        siftDown(siftUp(position));
+        return true;
+    }
+
+    int size() {
+        return heap.size();
+    }
+
+    boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    private void removeAt(int position) throws CloneNotSupportedException {
+        InformedNode removed = heap.get(position);
+        InformedNode last = heap.remove(heap.size() - 1);
+        index.remove(removed.getHash());
+
+        //the last entry takes the place of the removed one, unless the removed one was the last
+        if (position < heap.size()) {
+            heap.set(position, last);
+            index.put(last.getHash(), position);
+            siftDown(siftUp(position));
+        }
+    }
+
+/*
+    Moves the entry at the given position up while it precedes its parent, returns its final position
+*/
+    private int siftUp(int position) throws CloneNotSupportedException {
+        InformedNode moving = heap.get(position);
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (comparator.compare(moving, heap.get(parent)) >= 0)
+                break;
+            place(heap.get(parent), position);
+            position = parent;
+        }
+        place(moving, position);
+        return position;
+    }
+
+/*
+    Moves the entry at the given position down while one of its children precedes it
+*/
+    private void siftDown(int position) throws CloneNotSupportedException {
+        InformedNode moving = heap.get(position);
+        int half = heap.size() / 2;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < heap.size() && comparator.compare(heap.get(right), heap.get(child)) < 0)
+                child = right;
+            if (comparator.compare(moving, heap.get(child)) <= 0)
+                break;
+            place(heap.get(child), position);
+            position = child;
+        }
+        place(moving, position);
+    }
+
+    private void place(InformedNode n, int position) throws CloneNotSupportedException {
+        heap.set(position, n);
+        index.put(n.getHash(), position);
+    }
+}
@@ -0,0 +1,106 @@
+package solver.algorithms;
+
+import java.util.Arrays;
+
+/*
+Table of the labels of the states met by a search, by hash, for searches that have to keep it small.
+It's an open addressing table with linear probing over two primitive arrays, a long for the hash and an int for the
+label of every slot, so a state takes 12 bytes per slot. The table doubles when it's half full, which means between 24
+and 48 bytes per state, 24 to 48 MB every million states, and half as much again for a moment while it doubles.
+It can't grow past 2^30 slots, 2^29 states.
+A state is open, with the label of the copy waiting to be expanded, until it's expanded and closed for good.
+*/
+class LabelTable {
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int CLOSED = -1;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] hashes;
+    private int[] labels;
+    private int size = 0;
+    private int mask;
+
+    LabelTable() {
+        hashes = new long[1 << 16];
+        labels = new int[1 << 16];
+        Arrays.fill(labels, EMPTY);
+        mask = hashes.length - 1;
+    }
+
+/*
+    Tells if a copy of the state with the given label has to be expanded: either the state is new, or it's still open
+    with a higher label
+*/
+    boolean improves(long hash, int label) {
+        int stored = labels[find(hash)];
+        return stored == EMPTY || stored != CLOSED && label < stored;
+    }
+
+    boolean contains(long hash) {
+        return labels[find(hash)] != EMPTY;
+    }
+
+/*
+    Tells if the state is waiting to be expanded with exactly the given label
+*/
+    boolean isOpen(long hash, int label) {
+        return labels[find(hash)] == label;
+    }
+
+    void open(long hash, int label) {
+        put(hash, label);
+    }
+
+    void close(long hash) {
+        put(hash, CLOSED);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void put(long hash, int stored) {
+        int slot = find(hash);
+        if (labels[slot] == EMPTY) {
+            hashes[slot] = hash;
+            size++;
+        }
+        labels[slot] = stored;
+        if (size * 2 > hashes.length)
+            grow();
+    }
+
+/*
+    Slot of the given state, or the empty slot where it would go
+*/
+    private int find(long hash) {
+        int slot = mix(hash) & mask;
+        while (labels[slot] != EMPTY && hashes[slot] != hash)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private static int mix(long hash) {
+        long h = hash * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void grow() {
+        if (hashes.length >= MAX_CAPACITY)
+            throw new IllegalStateException("The table of labels is full: " + size + " states");
+
+        long[] oldHashes = hashes;
+        int[] oldLabels = labels;
+        hashes = new long[oldHashes.length * 2];
+        labels = new int[oldLabels.length * 2];
+        Arrays.fill(labels, EMPTY);
+        mask = hashes.length - 1;
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldLabels[i] == EMPTY)
+                continue;
+            int slot = find(oldHashes[i]);
+            hashes[slot] = oldHashes[i];
+            labels[slot] = oldLabels[i];
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package solver.algorithms;
+
+import game.Action;
+import game.Cell;
+import game.CellContent;
+import game.GameBoard;
+import solver.Node;
+import solver.SolverContext;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+/*
+Compact binary format for the nodes that external memory algorithms keep on disk.
+A node is reduced to the cell of Sokoban, the sorted cells of the boxes, its path cost and its action history
+packed four actions to a byte. Everything else about the state is the same for every node of a level, so it's
+taken back from a template board when the node is decoded.
+*/
+class NodeCodec {
+    private static final Action[] ACTIONS = Action.values();
+    //board of the level with no boxes and no Sokoban on it
+    private final GameBoard template;
+    private final int columns;
+
+    NodeCodec(GameBoard game) throws CloneNotSupportedException {
+        template = (GameBoard) game.clone();
+        columns = template.getColumns();
+        for (Cell[] row : template.getBoard()) {
+            for (Cell c : row) {
+                if (c.getContent() == CellContent.BOX || c.getContent() == CellContent.SOKOBAN) {
+                    c.setContent(CellContent.EMPTY);
+                    c.setBoxNumber(null);
+                }
+            }
+        }
+    }
+
+    byte[] encode(Node node) {
+        //the cells are scanned rather than taken from the box map of the board, so that the boxes come out sorted
+        //and the encoded state is exactly the one that gets hashed
+        int sokoban = 0;
+        int[] boxes = new int[node.getGame().getBoxCells().size()];
+        int count = 0;
+        for (Cell[] row : node.getGame().getBoard()) {
+            for (Cell c : row) {
+                if (c.getContent() == CellContent.SOKOBAN)
+                    sokoban = c.getRow() * columns + c.getColumn();
+                else if (c.getContent() == CellContent.BOX)
+                    boxes[count++] = c.getRow() * columns + c.getColumn();
+            }
+        }
+
+        ArrayList<Action> actions = node.getActionHistory();
+        ByteBuffer buffer = ByteBuffer.allocate(2 + 2 + 2 * boxes.length + 4 + 4 + (actions.size() + 3) / 4);
+        buffer.putShort((short) sokoban);
+        buffer.putShort((short) boxes.length);
+        for (int box : boxes)
+            buffer.putShort((short) box);
+        buffer.putInt(node.getPathCost());
+        buffer.putInt(actions.size());
+
+        //four actions in every byte, two bits each
+        for (int a = 0; a < actions.size(); a += 4) {
+            int packed = 0;
+            for (int j = 0; j < 4 && a + j < actions.size(); j++)
+                packed |= actions.get(a + j).ordinal() << (2 * j);
+            buffer.put((byte) packed);
+        }
+
+        return buffer.array();
+    }
+
+    Node decode(byte[] encoded, SolverContext context) throws CloneNotSupportedException {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        GameBoard game = (GameBoard) template.clone();
+        Cell[][] board = game.getBoard();
+
+        int sokoban = buffer.getShort();
+        board[sokoban / columns][sokoban % columns].setContent(CellContent.SOKOBAN);
+
+        //boxes are numbered in the order of their cells, and cloning keeps the numbers the cells carry
+        int boxes = buffer.getShort();
+        for (int i = 0; i < boxes; i++) {
+            int box = buffer.getShort();
+            board[box / columns][box % columns].setContent(CellContent.BOX);
+            board[box / columns][box % columns].setBoxNumber(i);
+        }
+
+        //cloning again rebuilds the references to Sokoban, the boxes and the goals from the cells
+        game = (GameBoard) game.clone();
+
+        int pathCost = buffer.getInt();
+        int size = buffer.getInt();
+        ArrayList<Action> actions = new ArrayList<>(size);
+        for (int a = 0; a < size; a += 4) {
+            int packed = buffer.get();
+            for (int j = 0; j < 4 && a + j < size; j++)
+                actions.add(ACTIONS[(packed >> (2 * j)) & 3]);
+        }
+
+        Node node = new Node(game, actions, context);
+        node.setPathCost(pathCost);
+        return node;
+    }
+}
@@ -0,0 +1,145 @@
+package solver.algorithms;
+
+import game.GameBoard;
+import solver.Node;
+import solver.SolverContext;
+import solver.Transposer;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/*
+Implementation of a level-synchronous parallel BFS search.
+Every depth level is expanded on a ForkJoinPool: the front is split into slices, every slice is expanded by a task
+into a buffer of its own, and the buffers filled by the tasks directly become the slices of the next front,
+so that nothing is ever copied from a level to the next one.
+Duplicates are pruned against the concurrent transposition table of the search.
+*/
+public class ParallelBFS extends Algorithm{
+    private static final Logger log = Logger.getLogger("ParallelBFS");
+    //number of nodes below which a slice of the front is expanded by a single task
+    private static final int GRAIN = 16;
+    private SolverContext context;
+    private final AtomicReference<Node> solution = new AtomicReference<>(null);
+    private final AtomicReference<CloneNotSupportedException> failure = new AtomicReference<>(null);
+
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        this.context = context;
+        Transposer transposer = context.getTransposer();
+        int parallelism = Math.max(1, context.getConfiguration().getParallelism());
+
+        context.setLogLine("Depth level 0" + "\nFront size: 0" + "\nExplored nodes: 0");
+
+        Node root = new Node(game, new ArrayList<>(), context);
+        if (root.isGoal()) {
+            return root;
+        }
+        transposer.transpose(root);
+
+        //the front is kept as a list of slices, each one filled by a different task in the previous level
+        ArrayList<ArrayList<Node>> front = new ArrayList<>();
+        ArrayList<Node> first = new ArrayList<>();
+        first.add(root);
+        front.add(first);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int count = 0; !context.isInterrupted(); count++) {
+                long frontSize = 0;
+                for (ArrayList<Node> slice : front)
+                    frontSize += slice.size();
+                if (frontSize == 0) return null;
+
+                context.setLogLine("Depth level " + count + "\nFront size: " + frontSize + "\nExplored nodes: " + transposer.getExaminedNodes());
+                long start = Instant.now().toEpochMilli();
+
+                //expanding every slice of the current level in parallel
+                ConcurrentLinkedQueue<ArrayList<Node>> nextLevel = new ConcurrentLinkedQueue<>();
+                ArrayList<Expansion> tasks = new ArrayList<>();
+                for (ArrayList<Node> slice : front) {
+                    tasks.add(new Expansion(slice, nextLevel));
+                }
+                pool.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(tasks);
+                    }
+                });
+
+                long elapsed = Instant.now().toEpochMilli() - start;
+                log.info("Depth level " + count + ": " + frontSize + " nodes expanded in " + elapsed + " ms, " +
+                        transposer.getExaminedNodes() + " explored nodes");
+
+                if (failure.get() != null)
+                    throw failure.get();
+                if (solution.get() != null)
+                    return solution.get();
+
+                //"Promoting" the buffers filled while expanding the current level, without copying their content
+                front = new ArrayList<>(nextLevel);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return null;
+    }
+
+/*
+    Task expanding a slice of the front into a buffer of its own.
+    Big slices are split in halves, so that idle workers can steal them.
+*/
+    private class Expansion extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final List<Node> slice;
+        private final ConcurrentLinkedQueue<ArrayList<Node>> nextLevel;
+
+        Expansion(List<Node> slice, ConcurrentLinkedQueue<ArrayList<Node>> nextLevel) {
+            this.slice = slice;
+            this.nextLevel = nextLevel;
+        }
+
+        @Override
+        protected void compute() {
+            if (slice.size() > GRAIN) {
+                int half = slice.size() / 2;
+                invokeAll(new Expansion(slice.subList(0, half), nextLevel),
+                        new Expansion(slice.subList(half, slice.size()), nextLevel));
+                return;
+            }
+
+            Transposer transposer = context.getTransposer();
+            ArrayList<Node> buffer = new ArrayList<>();
+            try {
+                for (Node n : slice) {
+                    if (solution.get() != null || context.isInterrupted())
+                        return;
+
+                    for (Node v : n.expand()) {
+                        if (v.isGoal()) {
+                            solution.compareAndSet(null, v);
+                            return;
+                        }
+                        //only adding the node to the next frontier if it's not already in the transposition table
+                        else if (transposer.transpose(v)) {
+                            buffer.add(v);
+                        }
+                    }
+                }
+            } catch (CloneNotSupportedException e) {
+                failure.compareAndSet(null, e);
+                return;
+            }
+
+            if (!buffer.isEmpty())
+                nextLevel.add(buffer);
+        }
+    }
+
+}
@@ -0,0 +1,179 @@
+package solver.algorithms;
+
+import game.GameBoard;
+import solver.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/*
+Implementation of a parallel IDA* algorithm.
+Every iteration is run on a ForkJoinPool: the first plies of the tree are split into tasks, one for every subtree,
+and idle workers steal the subtrees that are still waiting to be explored. Below the split depth a task explores
+its subtree with the same sequential recursion used by the plain IDA*.
+All the tasks share the transposition table of the search and the minimum label that surpassed the current limit,
+which becomes the limit of the next iteration.
+*/
+public class ParallelIDAStar extends Algorithm{
+    private static final Logger log = Logger.getLogger("ParallelIDAStar");
+    //nodes closer to the root than this are explored by separate tasks
+    private static final int SPLIT_DEPTH = 3;
+    private SolverContext context;
+    private volatile int limit;
+    private final AtomicReference<Node> solution = new AtomicReference<>(null);
+    private final AtomicInteger nextLimit = new AtomicInteger(Integer.MAX_VALUE);
+    private final AtomicReference<CloneNotSupportedException> failure = new AtomicReference<>(null);
+
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        this.context = context;
+        Transposer transposer = context.getTransposer();
+        int parallelism = Math.max(1, context.getConfiguration().getParallelism());
+
+        context.setLogLine("f(n) cutoff point: 0" + "\nVisited nodes: " + "\nWorkers: " + parallelism);
+
+        //initializing variables, starting with the initial lower bound of the solution as the first limit
+        InformedNode root = new InformedNode(new Node(game, new ArrayList<>(), context), null, context.heuristicEstimate(game));
+        limit = SokobanToolkit.estimateLowerBound(game);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            //Loop of the iterative deepening
+            while (!context.isInterrupted()) {
+
+                //Resetting everything
+                transposer.resetSearchSpace();
+                transposer.transpose(root);
+                context.getDetector().setPrunedNodes(0);
+                nextLimit.set(Integer.MAX_VALUE);
+                context.updateLowerBound(limit);
+
+                //launching the search on the current limit and waiting for every task to be over
+                pool.invoke(new Subtree(root));
+
+                if (failure.get() != null)
+                    throw failure.get();
+
+                //If we found a solution in this iteration, we return it
+                if (solution.get() != null)
+                    return solution.get();
+
+                //no label surpassed the limit: the whole tree was explored without finding a solution
+                if (nextLimit.get() == Integer.MAX_VALUE)
+                    return null;
+
+                limit = nextLimit.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return solution.get();
+    }
+
+/*
+    Checks whether the tasks still running should give up, because somebody found a solution or the search was stopped
+*/
+    private boolean isCancelled() {
+        return solution.get() != null || failure.get() != null || context.isInterrupted();
+    }
+
+/*
+    Examines a node against the current limit.
+    Returns true if the node should be expanded, false if it was a solution or it surpassed the limit.
+*/
+    private boolean examine(InformedNode node) throws CloneNotSupportedException {
+        //we surpassed the threshold, the label is a candidate for the next limit
+        if (node.getLabel() > limit) {
+            nextLimit.accumulateAndGet(node.getLabel(), Math::min);
+            return false;
+        }
+
+        //SOLUTION within the threshold: every other task will stop as soon as it notices
+        if (node.isGoal()) {
+            Node current;
+            do {
+                current = solution.get();
+                if (!node.isBetterGoalThan(current))
+                    break;
+            } while (!solution.compareAndSet(current, node));
+            return false;
+        }
+
+        return true;
+    }
+
+/*
+    Expands a node and returns the children that weren't already met, labeled and ordered like in vanilla A*
+*/
+    private ArrayList<InformedNode> expand(InformedNode node) throws CloneNotSupportedException {
+        Transposer transposer = context.getTransposer();
+        ArrayList<InformedNode> children = new ArrayList<>();
+
+        for (InformedNode n : (ArrayList<InformedNode>) node.expand()) {
+            if (transposer.transpose(n)) {
+                VanillaAStar.assignLabel(n);
+                children.add(n);
+            }
+        }
+        children.sort(VanillaAStar::compare);
+
+        return children;
+    }
+
+/*
+    Sequential exploration of the subtree rooted in the given node, used below the split depth
+*/
+    private void recursiveComponent(InformedNode root) throws CloneNotSupportedException {
+        if (isCancelled() || !examine(root))
+            return;
+
+        for (InformedNode n : expand(root)) {
+            if (isCancelled())
+                return;
+            recursiveComponent(n);
+        }
+    }
+
+/*
+    Task exploring the subtree rooted in a node.
+    Close to the root every child becomes a new task that idle workers can steal, deeper down the recursion is sequential.
+*/
+    private class Subtree extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final InformedNode root;
+
+        Subtree(InformedNode root) {
+            this.root = root;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                if (root.getPathCost() >= SPLIT_DEPTH) {
+                    recursiveComponent(root);
+                    return;
+                }
+
+                if (isCancelled() || !examine(root))
+                    return;
+
+                context.setLogLine("f(n) cutoff point: " + limit + "\nVisited nodes: " + context.getTransposer().getExaminedNodes() +
+                        "\nWorkers: " + getPool().getParallelism());
+
+                ArrayList<Subtree> subtrees = new ArrayList<>();
+                for (InformedNode n : expand(root)) {
+                    subtrees.add(new Subtree(n));
+                }
+                invokeAll(subtrees);
+
+            } catch (CloneNotSupportedException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package solver.algorithms;
+
+import game.GameBoard;
+import solver.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.logging.Logger;
+
+/*
+Implementation of a Partial Expansion A* search.
+Every node in the frontier has a stored value F(n), starting from its own f(n) = g(n) + h(n). When a node is examined
+only the children whose f(n) doesn't exceed its stored value make it into the frontier, while the others are thrown
+away; the node itself goes back into the frontier with the lowest f(n) among the children left out as its new stored
+value, so that they're generated again once the search gets there. Most children of a node on a level with many
+boxes never get under the cutoff, and they never take up room in the frontier.
+Pushes have no cheap way to tell the f(n) of a child before generating it, so every partial expansion generates all
+the children: the heuristic estimates of the states met are cached to keep the repeated expansions cheap.
+*/
+public class PartialExpansionAStar extends Algorithm{
+    private static final Logger log = Logger.getLogger("PartialExpansionAStar");
+
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        Transposer transposer = context.getTransposer();
+        context.setLogLine("Top label value: " + "\nFrontier size: 0" + "\nVisited nodes: " + transposer.getExaminedNodes());
+
+        BucketQueue frontier = new BucketQueue(VanillaAStar::tieBreak);
+        //heuristic estimate of every state met, since the children of a node are generated more than once
+        HashMap<Long, Integer> heuristics = new HashMap<>();
+        long leftOut = 0;
+
+        InformedNode root = new InformedNode(game, new ArrayList<>(), null, 0, context);
+        root.setLabel(heuristic(root, heuristics, context));
+        frontier.add(root);
+        transposer.transpose(root);
+        transposer.saveLabel(root);
+
+        while (!frontier.isEmpty() && !context.isInterrupted()) {
+            InformedNode examined = frontier.remove();
+            int stored = examined.getLabel();
+            context.updateLowerBound(stored);
+
+            //SOLUTION
+            if (examined.isGoal()) {
+                log.info(leftOut + " children left out of the frontier");
+                return examined;
+            }
+
+            int next = Integer.MAX_VALUE;
+            for (InformedNode n : (ArrayList<InformedNode>) examined.expand()) {
+                n.setLabel(n.getPathCost() + heuristic(n, heuristics, context));
+
+                //children above the stored value are left out until the node comes back with a higher one
+                if (n.getLabel() > stored) {
+                    next = Math.min(next, n.getLabel());
+                    leftOut++;
+                    continue;
+                }
+
+                //children under it went through the same checks as in A*, the ones added by an earlier partial
+                //expansion of this node are found in the transposition table
+                if (transposer.hasBetterLabel(n)) {
+                    if (frontier.remove(n)) {
+                        frontier.add(n);
+                        transposer.saveLabel(n);
+                    }
+                }
+                else if (transposer.transpose(n)) {
+                    transposer.saveLabel(n);
+                    frontier.add(n);
+                }
+            }
+
+            //the node goes back into the frontier if some of its children were left out, keeping its f(n) accounted
+            //so that its copies reached through longer paths are still recognized
+            if (next != Integer.MAX_VALUE) {
+                examined.setLabel(next);
+                frontier.add(examined);
+            }
+            else
+                transposer.removeLabel(examined);
+
+            if (frontier.peek() != null)
+                context.setLogLine("Top label value: " + frontier.peek().getLabel() +
+                        "\nFrontier size: " + frontier.size() + "\nVisited nodes: " + transposer.getExaminedNodes());
+        }
+
+        return null;
+    }
+
+    private static int heuristic(InformedNode n, HashMap<Long, Integer> heuristics, SolverContext context)
+            throws CloneNotSupportedException {
+        Integer heuristic = heuristics.get(n.getHash());
+        if (heuristic == null) {
+            heuristic = context.heuristicEstimate(n.getGame());
+            heuristics.put(n.getHash(), heuristic);
+        }
+        return heuristic;
+    }
+}
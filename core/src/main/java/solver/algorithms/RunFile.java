@@ -0,0 +1,171 @@
+package solver.algorithms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+/*
+Files of nodes written by the external memory algorithms.
+A run file is a sequence of records, each one made of the hash of a state, the length of the encoded node and the
+node itself in the format of NodeCodec. The records of a run are sorted by hash, so that runs can be merged by
+reading them sequentially, and copies of the same state meet each other in the merge.
+*/
+class RunFile {
+    //size of the buffers used to read and write the files
+    static final int BUFFER_SIZE = 1 << 20;
+    private static final int HEADER = 12;
+
+    private RunFile() {}
+
+/*
+    Encoded node, along with the hash of its state. Records only used to remember a state carry no node.
+*/
+    static class Record {
+        final long hash;
+        final byte[] node;
+
+        Record(long hash, byte[] node) {
+            this.hash = hash;
+            this.node = node;
+        }
+    }
+
+/*
+    Appends records to a new file through a large buffer
+*/
+    static class Writer implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private long written = 0;
+
+        Writer(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+
+        void write(Record r) throws IOException {
+            if (buffer.remaining() < HEADER + r.node.length)
+                drain();
+            buffer.putLong(r.hash).putInt(r.node.length).put(r.node);
+            written++;
+        }
+
+        long getWritten() {
+            return written;
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            drain();
+            channel.close();
+        }
+    }
+
+/*
+    Reads the records of a run in order. The current record is null once the run is over.
+*/
+    static abstract class Cursor implements Closeable {
+        protected Record current;
+
+        Record current() {
+            return current;
+        }
+
+        abstract boolean advance() throws IOException;
+
+        @Override
+        public void close() throws IOException {}
+    }
+
+/*
+    Reads a run through a buffer mapped in memory, for files that are known to be small
+*/
+    static Cursor map(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        return new Cursor() {
+            @Override
+            boolean advance() {
+                current = mapped.hasRemaining() ? read(mapped) : null;
+                return current != null;
+            }
+        };
+    }
+
+/*
+    Reads a run sequentially through a large buffer, for files of any size
+*/
+    static Cursor stream(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        buffer.flip();
+
+        return new Cursor() {
+            @Override
+            boolean advance() throws IOException {
+                if (!fill(HEADER)) {
+                    current = null;
+                    return false;
+                }
+                buffer.mark();
+                buffer.position(buffer.position() + 8);
+                int length = buffer.getInt();
+                buffer.reset();
+                if (!fill(HEADER + length))
+                    throw new IOException("Truncated record in " + file);
+
+                current = read(buffer);
+                return true;
+            }
+
+            //makes sure that the given number of bytes is available in the buffer, unless the file is over
+            private boolean fill(int needed) throws IOException {
+                if (buffer.remaining() >= needed)
+                    return true;
+                buffer.compact();
+                while (buffer.position() < needed && channel.read(buffer) > 0);
+                buffer.flip();
+                return buffer.remaining() >= needed;
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+/*
+    Reads the records of a list held in memory, already sorted by hash
+*/
+    static Cursor of(Iterator<Record> records) {
+        return new Cursor() {
+            @Override
+            boolean advance() {
+                current = records.hasNext() ? records.next() : null;
+                return current != null;
+            }
+        };
+    }
+
+    private static Record read(ByteBuffer buffer) {
+        long hash = buffer.getLong();
+        byte[] node = new byte[buffer.getInt()];
+        buffer.get(node);
+        return new Record(hash, node);
+    }
+}
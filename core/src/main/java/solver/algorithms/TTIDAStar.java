@@ -0,0 +1,146 @@
+package solver.algorithms;
+
+import game.GameBoard;
+import solver.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+import java.util.logging.Logger;
+
+/*
+Implementation of an IDA* search with a transposition table that persists across the iterations.
+For every state met, the table keeps the best known lower bound on the cost to reach a solution from it, and the path
+cost and iteration of its last expansion. The lower bound starts as the heuristic estimate and is raised every time
+the subtree of the state is searched, by backing up the bounds of its children: a state whose subtree was proven not
+to reach the current cutoff point is cut as soon as it's met again, in this iteration or in any of the next ones.
+Within an iteration, a state that was already expanded with a path cost lower or equal to the current one is cut too,
+since its subtree was already searched with a larger budget.
+After the first iterations, most of the states met are cache hits that don't need a new heuristic estimate.
+*/
+public class TTIDAStar extends Algorithm{
+    private static final Logger log = Logger.getLogger("TTIDAStar");
+    //lower bound of the states that can't lead to a solution at all
+    private static final int UNREACHABLE = Integer.MAX_VALUE / 2;
+
+    private SolverContext context;
+    private Transposer transposer;
+    private Node solution;
+    private final HashMap<Long, Entry> table = new HashMap<>();
+    private int iteration;
+    private long cacheHits;
+
+/*
+    Entry of the transposition table
+*/
+    private static class Entry {
+        //best known lower bound on the cost of reaching a solution from the state
+        int bound;
+        //path cost of the last expansion of the state, and the iteration it happened in
+        int pathCost;
+        int iteration = -1;
+
+        Entry(int bound) {
+            this.bound = bound;
+        }
+    }
+
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        this.context = context;
+        this.transposer = context.getTransposer();
+        solution = null;
+
+        context.setLogLine("f(n) cutoff point: 0" + "\nVisited nodes: " + "\nCached nodes: ");
+
+        InformedNode root = new InformedNode(new Node(game, new ArrayList<>(), context), null, 0);
+        if (root.isGoal())
+            return root;
+        int limit = lookup(root).bound;
+
+        //Loop of the iterative deepening: the transposition table is kept from one iteration to the next
+        for (iteration = 0; !context.isInterrupted() && limit < UNREACHABLE; iteration++) {
+            context.getDetector().setPrunedNodes(0);
+            context.updateLowerBound(limit);
+            long start = System.currentTimeMillis();
+            cacheHits = 0;
+
+            int newLimit = recursiveComponent(root, limit);
+            log.info("Iteration " + iteration + " with cutoff point " + limit + " done in " +
+                    (System.currentTimeMillis() - start) + " ms: " + table.size() + " cached nodes, " + cacheHits + " cache hits");
+
+            if (solution != null)
+                return solution;
+            limit = newLimit;
+        }
+
+        return solution;
+    }
+
+/*
+    Searches the subtree of a node with the given cutoff point.
+    It returns the lowest f(n) found above the cutoff point in the subtree, to be used as the next one, and raises the
+    lower bound of the node in the table on the way back.
+*/
+    private int recursiveComponent(InformedNode root, int limit) throws CloneNotSupportedException {
+        if (context.isInterrupted())
+            return UNREACHABLE;
+
+        Entry entry = lookup(root);
+        int label = root.getPathCost() + entry.bound;
+        //we surpassed the threshold, or the state was proven not to make it in a previous visit
+        if (label > limit)
+            return label;
+
+        if (root.isGoal()) {
+            solution = root;
+            return 0;
+        }
+
+        //transposition: the state was already searched in this iteration with a budget at least as large
+        if (entry.iteration == iteration && entry.pathCost <= root.getPathCost())
+            return UNREACHABLE;
+        entry.iteration = iteration;
+        entry.pathCost = root.getPathCost();
+
+        context.setLogLine("f(n) cutoff point: " + limit + "\nVisited nodes: " + transposer.getExaminedNodes() +
+                "\nCached nodes: " + table.size());
+
+        //children are searched in order of f(n), reusing the PQueue comparing method from vanilla A*
+        PriorityQueue<InformedNode> queue = new PriorityQueue<>(VanillaAStar::compare);
+        ArrayList<InformedNode> expanded = (ArrayList<InformedNode>) root.expand();
+        for (InformedNode n : expanded) {
+            transposer.transpose(n);
+            n.setLabel(n.getPathCost() + lookup(n).bound);
+            queue.add(n);
+        }
+
+        int min = UNREACHABLE;
+        while (!queue.isEmpty()) {
+            min = Math.min(min, recursiveComponent(queue.remove(), limit));
+            if (solution != null)
+                return 0;
+        }
+
+        //backing up the lower bound: a solution from this state has to go through one of its children
+        int backedUp = UNREACHABLE;
+        for (InformedNode n : expanded)
+            backedUp = Math.min(backedUp, n.getPathCost() - root.getPathCost() + table.get(n.getHash()).bound);
+        entry.bound = Math.max(entry.bound, backedUp);
+
+        return min;
+    }
+
+/*
+    Obtains the entry of a state from the table, adding it with the heuristic estimate as its bound if it's missing
+*/
+    private Entry lookup(InformedNode n) throws CloneNotSupportedException {
+        Entry entry = table.get(n.getHash());
+        if (entry == null) {
+            entry = new Entry(context.heuristicEstimate(n.getGame()));
+            table.put(n.getHash(), entry);
+        }
+        else
+            cacheHits++;
+        return entry;
+    }
+}
@@ -0,0 +1,69 @@
+
+package solver.algorithms;
+
+import game.GameBoard;
+import solver.*;
+
+import java.util.logging.Logger;
+
+/*
+Implementation of a simple A* search
+Code from generic Algorithm implementation is completely reused: the only needed change is in how we compare nodes
+for Priority Queue insertion and extraction order and how we label nodes. This time, f(n) = g(n) + h(n) for any given node.
+*/
+public class VanillaAStar extends Algorithm{
+    private static final Logger log = Logger.getLogger("AStar");
+
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        //under the pushes-then-moves cost model, nodes with the same label are ordered by their f(n) on the moves
+        if (context.isLexicographicCost())
+            return super.launchPQueueSearch(game, context, InformedNode::getSecondaryLabel, VanillaAStar::assignLexicographicLabel);
+
+        //Passing the node comparison logic method and the node labelling logic method
+        return super.launchPQueueSearch(game, context, VanillaAStar::tieBreak, VanillaAStar::assignLabel);
+    }
+
+    protected static int compare(InformedNode informedNode, InformedNode t1) {
+        //main criteria for insertion into the pqueue
+        //it will favor the lowest f(n) label value among the two nodes
+        int comparison = Integer.compare(informedNode.getLabel(), t1.getLabel());
+
+        //tie breaker: inertia
+        if (comparison == 0 && informedNode.getParent() != null && t1.getParent() != null)
+            comparison = SokobanToolkit.compareByInertia(informedNode, t1, informedNode.getParent(), t1.getParent());
+
+        //tie breaker: heuristics without the path cost
+        if (comparison == 0)
+            comparison = Integer.compare(informedNode.getLabel() - informedNode.getPathCost(),
+                    t1.getLabel() - t1.getPathCost());
+
+        return comparison;
+    }
+
+    protected static int tieBreak(InformedNode informedNode) {
+        //same tie breakers used by compare, in the same order: inertia first, then heuristics without the path cost.
+        //The heuristic part can't be higher than the label, so nodes pushed by inertia get the values above it
+        int heuristic = informedNode.getLabel() - informedNode.getPathCost();
+        if (SokobanToolkit.isPushedByInertia(informedNode, informedNode.getParent()))
+            return informedNode.getLabel() + 1 + heuristic;
+
+        return heuristic;
+    }
+
+    public static void assignLabel(InformedNode informedNode) {
+        informedNode.setLabel(informedNode.getPathCost() + informedNode.getContext().heuristicEstimate(informedNode.getGame()));
+    }
+
+/*
+    Pushes-then-moves cost model: the label is f(n) on the pushes and its second component is f(n) on the moves.
+    Every push is a move, so no solution takes fewer moves than pushes and the heuristic estimate on the pushes holds
+    for the moves as well. It's also consistent on the pair: an edge costing as many pushes as the estimate drops by
+    takes at least as many moves. Nodes are popped in the order of the pair, so the first solution popped is
+    push-optimal, and it takes the fewest moves among the push-optimal ones found with the same tunnel macro pushes.
+*/
+    static void assignLexicographicLabel(InformedNode informedNode) {
+        int heuristic = informedNode.getContext().heuristicEstimate(informedNode.getGame());
+        informedNode.setLabel(informedNode.getPathCost() + heuristic);
+        informedNode.setSecondaryLabel(informedNode.getActionHistory().size() + heuristic);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package solver.algorithms;
+
+import game.GameBoard;
+import solver.*;
+
+import java.util.logging.Logger;
+
+/*
+Implementation of a weighted A* search
+The generic PQueue search is reused once again, inflating the heuristic part of the label by the weight w found in the
+configuration: f(n) = g(n) + w * h(n). With w > 1 the search dives towards the goal much faster than vanilla A*,
+and the solution it finds costs at most w times the optimal one.
+*/
+public class WeightedAStar extends Algorithm{
+    private static final Logger log = Logger.getLogger("WeightedAStar");
+
+    public Node launch(GameBoard game, SolverContext context) throws CloneNotSupportedException {
+        double weight = Math.max(1, context.getConfiguration().getWeight());
+        Node solution = super.launchPQueueSearch(game, context, VanillaAStar::tieBreak, n -> assignLabel(n, weight));
+
+        if (solution != null)
+            context.publishSolution(solution, weight);
+        return solution;
+    }
+
+/*
+    Labels are integers, so the weighted heuristic is rounded down: that way no label along the optimal path exceeds
+    w times the optimal cost, and the bound on the solution still holds
+*/
+    static void assignLabel(InformedNode informedNode, double weight) {
+        int heuristic = informedNode.getContext().heuristicEstimate(informedNode.getGame());
+        informedNode.setLabel(informedNode.getPathCost() + (int) Math.floor(weight * heuristic));
+    }
+}
@@ -0,0 +1,314 @@
+package solver.configuration;
+
+import game.GameBoard;
+import game.Level;
+import solver.LevelFeatures;
+import solver.PortfolioStatistics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+This class encapsulates a configuration of the solver
+*/
+public class Configuration {
+
+    private ExpansionScheme expansionScheme;
+    private Strategy strategy;
+    private Heuristic heuristic;
+    private DDRoutine routine;
+    private Level level;
+    //number of worker threads used by parallel strategies
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    //weight of the heuristic for weighted strategies, and the starting one for anytime strategies
+    private double weight = 2.0;
+    //widths tried in turn by beam search, until one of them leads to a solution
+    private int[] beamWidths = {64, 256, 1024, 4096, 16384};
+    //whether push-based expansion pushes boxes through tunnels in a single macro push
+    private boolean tunnelMacros = true;
+    //whether push-based expansion takes boxes from the entrance of a goal room to their goal in a single macro push,
+    //only with strategies that promise nothing about the pushes (GBFS and BEAM): it can cost pushes
+    private boolean goalMacros = true;
+    //configurations raced against each other by the solver: if there's any, the solver works in portfolio mode
+    private List<Configuration> portfolio = new ArrayList<>();
+    //milliseconds given to the portfolio before taking the best solution found, or 0 to take the first one found
+    private long portfolioDeadline = 0;
+    //win statistics of the members of the portfolio, that can be shared by many configurations
+    private PortfolioStatistics portfolioStatistics = new PortfolioStatistics();
+    //budgets of the search, 0 meaning no budget: milliseconds, explored nodes and bytes of heap in use
+    private long timeBudget = 0;
+    private long nodeBudget = 0;
+    private long memoryBudget = 0;
+    //share of the heap that makes the PQueue based searches fall back to a memory-bounded IDA*, 0 meaning never,
+    //and the number of states in the transposition table of the fallback
+    private double fallbackThreshold = 0.85;
+    private int fallbackTableSize = 1 << 20;
+    //directory of the checkpoints of the search, null meaning no checkpoints, the shortest time between two of them
+    //in milliseconds and the share of the running time they can take
+    private String checkpointDirectory = null;
+    private long checkpointInterval = 60000;
+    private double checkpointOverhead = 0.02;
+    //whether the solutions of push-based searches go through the SolutionOptimizer to cut down their moves
+    private boolean moveOptimization = true;
+    //whether push-based A* orders its nodes by pushes and then by moves, to find the push-optimal solution with the
+    //fewest moves
+    private boolean lexicographicCost = false;
+    //whether the level is split into rooms and solved one room at a time, following a plan of the flow of boxes
+    private boolean roomDecomposition = false;
+    //milliseconds between two moves when the solution is played on the board of the level, so that it can be watched
+    private long replayDelay = 200;
+
+    private Configuration (ExpansionScheme e, Strategy s, Heuristic h, DDRoutine r, Level l) {
+        this.expansionScheme = e;
+        this.strategy = s;
+        this.heuristic = h;
+        this.routine = r;
+        this.level = l;
+    }
+
+    public static Configuration getInstance(String expansionScheme, String strategy, String heuristic, String routine, Level l) {
+        Configuration c = new Configuration(ExpansionScheme.mapString(expansionScheme), Strategy.mapString(strategy),
+                Heuristic.mapString(heuristic), DDRoutine.mapString(routine), l);
+        return c;
+    }
+
+    public static Configuration getInstance(ExpansionScheme expansionScheme, Strategy strategy, Heuristic heuristic, DDRoutine routine, Level l) {
+        Configuration c = new Configuration(expansionScheme, strategy, heuristic, routine, l);
+        return c;
+    }
+
+/*
+    Picks a configuration for the given level from the decision table, looking at the features of its starting state.
+    A* with every deadlock detection routine is used if no rule of the table matches the level.
+*/
+    public static Configuration getAutomatic(Level l) {
+        Configuration c = DecisionTable.load().select(new LevelFeatures(new GameBoard(l)), l);
+        if (c == null)
+            c = getInstance(ExpansionScheme.PUSH_BASED, Strategy.ASTAR, Heuristic.MINIMUM_PERFECT_MATCHING, DDRoutine.ALL_ROUTINES, l);
+        return c;
+    }
+
+    public ExpansionScheme getExpansionScheme() {
+        return expansionScheme;
+    }
+
+    public void setExpansionScheme(ExpansionScheme expansionScheme) {
+        this.expansionScheme = expansionScheme;
+    }
+
+    public void setExpansionScheme(String expansionScheme) {
+        this.expansionScheme = ExpansionScheme.mapString(expansionScheme);
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = Strategy.mapString(strategy);
+    }
+
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    public void setHeuristic(Heuristic heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    public DDRoutine getRoutine() {
+        return routine;
+    }
+
+    public void setRoutine(DDRoutine routine) {
+        this.routine = routine;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public void setLevel(Level level) {
+        this.level = level;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    public void setWeight(double weight) {
+        this.weight = weight;
+    }
+
+    public int[] getBeamWidths() {
+        return beamWidths;
+    }
+
+    public void setBeamWidths(int[] beamWidths) {
+        this.beamWidths = beamWidths;
+    }
+
+    public boolean isTunnelMacros() {
+        return tunnelMacros;
+    }
+
+    public void setTunnelMacros(boolean tunnelMacros) {
+        this.tunnelMacros = tunnelMacros;
+    }
+
+    public boolean isGoalMacros() {
+        return goalMacros;
+    }
+
+    public void setGoalMacros(boolean goalMacros) {
+        this.goalMacros = goalMacros;
+    }
+
+    public List<Configuration> getPortfolio() {
+        return portfolio;
+    }
+
+    public void setPortfolio(List<Configuration> portfolio) {
+        this.portfolio = portfolio;
+    }
+
+    public long getPortfolioDeadline() {
+        return portfolioDeadline;
+    }
+
+    public void setPortfolioDeadline(long portfolioDeadline) {
+        this.portfolioDeadline = portfolioDeadline;
+    }
+
+    public PortfolioStatistics getPortfolioStatistics() {
+        return portfolioStatistics;
+    }
+
+    public void setPortfolioStatistics(PortfolioStatistics portfolioStatistics) {
+        this.portfolioStatistics = portfolioStatistics;
+    }
+
+    public long getTimeBudget() {
+        return timeBudget;
+    }
+
+    public void setTimeBudget(long timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+    public long getNodeBudget() {
+        return nodeBudget;
+    }
+
+    public void setNodeBudget(long nodeBudget) {
+        this.nodeBudget = nodeBudget;
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public void setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    public double getFallbackThreshold() {
+        return fallbackThreshold;
+    }
+
+    public void setFallbackThreshold(double fallbackThreshold) {
+        this.fallbackThreshold = fallbackThreshold;
+    }
+
+    public int getFallbackTableSize() {
+        return fallbackTableSize;
+    }
+
+    public void setFallbackTableSize(int fallbackTableSize) {
+        this.fallbackTableSize = fallbackTableSize;
+    }
+
+    public String getCheckpointDirectory() {
+        return checkpointDirectory;
+    }
+
+    public void setCheckpointDirectory(String checkpointDirectory) {
+        this.checkpointDirectory = checkpointDirectory;
+    }
+
+    public long getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public void setCheckpointInterval(long checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    public double getCheckpointOverhead() {
+        return checkpointOverhead;
+    }
+
+    public void setCheckpointOverhead(double checkpointOverhead) {
+        this.checkpointOverhead = checkpointOverhead;
+    }
+
+    public boolean isMoveOptimization() {
+        return moveOptimization;
+    }
+
+    public void setMoveOptimization(boolean moveOptimization) {
+        this.moveOptimization = moveOptimization;
+    }
+
+    public boolean isLexicographicCost() {
+        return lexicographicCost;
+    }
+
+    public void setLexicographicCost(boolean lexicographicCost) {
+        this.lexicographicCost = lexicographicCost;
+    }
+
+    public boolean isRoomDecomposition() {
+        return roomDecomposition;
+    }
+
+    public void setRoomDecomposition(boolean roomDecomposition) {
+        this.roomDecomposition = roomDecomposition;
+    }
+
+    public long getReplayDelay() {
+        return replayDelay;
+    }
+
+    public void setReplayDelay(long replayDelay) {
+        this.replayDelay = replayDelay;
+    }
+
+/*
+    Describes every setting that changes the search, so that configurations differing only in, say, their weight or
+    their macros can be told apart: it's the name of a member in the portfolio statistics
+*/
+    public String getDescription() {
+        return ExpansionScheme.mapExpansionScheme(expansionScheme) + ", " + this + ", weight " + weight +
+                ", parallelism " + parallelism + (tunnelMacros ? ", tunnel macros" : "") +
+                (goalMacros ? ", goal macros" : "") + (lexicographicCost ? ", lexicographic cost" : "") +
+                (roomDecomposition ? ", rooms" : "");
+    }
+
+    @Override
+    public String toString() {
+        return Strategy.mapStrategy(strategy) + ", " + Heuristic.mapHeuristic(heuristic) + ", " + DDRoutine.mapDDRoutine(routine);
+    }
+}
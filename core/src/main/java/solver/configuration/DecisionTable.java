@@ -0,0 +1,99 @@
+package solver.configuration;
+
+import com.google.gson.Gson;
+import game.Level;
+import solver.LevelFeatures;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.logging.Logger;
+
+/*
+Decision table used to pick a configuration automatically from the features of a level.
+The table is read from the autoconfig.json resource, built out of benchmark runs of the candidate configurations on
+the levels of the game. Its rules are checked in order: the first one whose ranges hold all the features of the level
+gives the configuration, and a rule with no ranges at the end of the table acts as the default.
+*/
+public class DecisionTable {
+    private static final Logger log = Logger.getLogger("DecisionTable");
+    private static final String RESOURCE = "/autoconfig.json";
+
+/*
+    Rule of the table: every range that's left out of the resource matches any value
+*/
+    private static class Rule {
+        private String description;
+        private Integer minBoxes;
+        private Integer maxBoxes;
+        private Integer minFloor;
+        private Integer maxFloor;
+        private Double minTunnelRatio;
+        private Double maxTunnelRatio;
+        private Boolean goalRoom;
+        private Integer minLowerBound;
+        private Integer maxLowerBound;
+        private ExpansionScheme expansionScheme;
+        private Strategy strategy;
+        private Heuristic heuristic;
+        private DDRoutine routine;
+
+        private boolean matches(LevelFeatures f) {
+            return within(f.getBoxes(), minBoxes, maxBoxes) && within(f.getFloor(), minFloor, maxFloor) &&
+                    (minTunnelRatio == null || f.getTunnelRatio() >= minTunnelRatio) &&
+                    (maxTunnelRatio == null || f.getTunnelRatio() <= maxTunnelRatio) &&
+                    (goalRoom == null || f.hasGoalRoom() == goalRoom) &&
+                    within(f.getLowerBound(), minLowerBound, maxLowerBound);
+        }
+
+        private static boolean within(int value, Integer min, Integer max) {
+            return (min == null || value >= min) && (max == null || value <= max);
+        }
+    }
+
+    private ArrayList<Rule> rules = new ArrayList<>();
+
+    private DecisionTable() {}
+
+/*
+    Reads the decision table from its resource
+*/
+    public static DecisionTable load() {
+        StringBuilder json = new StringBuilder();
+        InputStream is = DecisionTable.class.getResourceAsStream(RESOURCE);
+        if (is == null) {
+            log.warning("The decision table " + RESOURCE + " was not found");
+            return new DecisionTable();
+        }
+
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(is))) {
+            String line;
+            while ((line = br.readLine()) != null)
+                json.append(line).append("\n");
+        } catch (IOException e) {
+            log.warning("The decision table " + RESOURCE + " couldn't be read");
+            e.printStackTrace();
+            return new DecisionTable();
+        }
+
+        DecisionTable table = new Gson().fromJson(json.toString(), DecisionTable.class);
+        if (table.rules == null)
+            table.rules = new ArrayList<>();
+        return table;
+    }
+
+/*
+    Picks the configuration of the first rule matching the given features of the level, or returns null if none does
+*/
+    public Configuration select(LevelFeatures features, Level level) {
+        for (Rule r : rules) {
+            if (r.matches(features)) {
+                log.info("Level with " + features + ": picked \"" + r.description + "\"");
+                return Configuration.getInstance(r.expansionScheme, r.strategy, r.heuristic, r.routine, level);
+            }
+        }
+        return null;
+    }
+}
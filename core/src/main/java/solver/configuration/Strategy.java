@@ -0,0 +1,119 @@
+package solver.configuration;
+
+public enum Strategy {
+    BFS, IDDFS, GBFS, ASTAR, IDASTAR, HDASTAR, PIDASTAR, PBFS, EXTASTAR, EXTBFS, WASTAR, ARASTAR, BEAM, BIDIRECTIONAL, TTIDASTAR, FRINGE, PEASTAR;
+
+    public static Strategy mapString(String toMap) {
+        switch (toMap) {
+            case "Breadth First Search" : {
+                return Strategy.BFS;
+            }
+            case "Iterative Deepening DFS" : {
+                return Strategy.IDDFS;
+            }
+            case "Greedy Best First Search" : {
+                return Strategy.GBFS;
+            }
+            case "Vanilla A*" : {
+                return Strategy.ASTAR;
+            }
+            case "Iterative Deepening A*" : {
+                return Strategy.IDASTAR;
+            }
+            case "Hash Distributed A*" : {
+                return Strategy.HDASTAR;
+            }
+            case "Parallel IDA*" : {
+                return Strategy.PIDASTAR;
+            }
+            case "Parallel Breadth First Search" : {
+                return Strategy.PBFS;
+            }
+            case "External Memory A*" : {
+                return Strategy.EXTASTAR;
+            }
+            case "External Memory BFS" : {
+                return Strategy.EXTBFS;
+            }
+            case "Weighted A*" : {
+                return Strategy.WASTAR;
+            }
+            case "Anytime Repairing A*" : {
+                return Strategy.ARASTAR;
+            }
+            case "Beam Search" : {
+                return Strategy.BEAM;
+            }
+            case "Bidirectional Push/Pull Search" : {
+                return Strategy.BIDIRECTIONAL;
+            }
+            case "IDA* with Transposition Table" : {
+                return Strategy.TTIDASTAR;
+            }
+            case "Fringe Search" : {
+                return Strategy.FRINGE;
+            }
+            case "Partial Expansion A*" : {
+                return Strategy.PEASTAR;
+            }
+        }
+        return null;
+    }
+
+    public static String mapStrategy (Strategy strategy) {
+        switch (strategy) {
+            case BFS : {
+                return ("Breadth First Search");
+            }
+            case IDDFS : {
+                return ("Iterative Deepening DFS");
+            }
+            case IDASTAR : {
+                return ("Iterative Deepening A*");
+            }
+            case ASTAR : {
+                return ("Vanilla A*");
+            }
+            case GBFS: {
+                return ("Greedy Best First Search");
+            }
+            case HDASTAR: {
+                return ("Hash Distributed A*");
+            }
+            case PIDASTAR: {
+                return ("Parallel IDA*");
+            }
+            case PBFS: {
+                return ("Parallel Breadth First Search");
+            }
+            case EXTASTAR: {
+                return ("External Memory A*");
+            }
+            case EXTBFS: {
+                return ("External Memory BFS");
+            }
+            case WASTAR: {
+                return ("Weighted A*");
+            }
+            case ARASTAR: {
+                return ("Anytime Repairing A*");
+            }
+            case BEAM: {
+                return ("Beam Search");
+            }
+            case BIDIRECTIONAL: {
+                return ("Bidirectional Push/Pull Search");
+            }
+            case TTIDASTAR: {
+                return ("IDA* with Transposition Table");
+            }
+            case FRINGE: {
+                return ("Fringe Search");
+            }
+            case PEASTAR: {
+                return ("Partial Expansion A*");
+            }
+        }
+        return null;
+    }
+}
@@ -10,9 +10,7 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
-import solver.DeadlockDetector;
 import solver.SokobanSolver;
-import solver.Transposer;
 import solver.configuration.ExpansionScheme;
 import solver.configuration.Strategy;
 
@@ -29,6 +27,8 @@ public class BoardHandler {
     private static int moves, pushes;
     protected static boolean isShowing;
     protected static boolean isSearching;
+    //solver instance whose search is being shown, null during manual gameplay
+    protected static volatile SokobanSolver solver;
     static {
         sokoban = new Image(MainMenu.class.getResourceAsStream("/sokoban.png"));
         box = new Image(MainMenu.class.getResourceAsStream("/cassa.png"));
@@ -73,20 +73,22 @@ public class BoardHandler {
     }
 
     protected static void updateBoard (GameBoard game, Level level) {
-        if ((!isSearching && !isShowing) || SokobanSolver.isInterrupted()) {
+        SokobanSolver solver = BoardHandler.solver;
+        boolean interrupted = solver != null && solver.isInterrupted();
+        if ((!isSearching && !isShowing) || interrupted) {
             return;
         }
 
         Cell[][] board = game.getBoard();
 
-        if (SokobanSolver.getSolution() != null) {
-            moves = SokobanSolver.getSolutionMoves();
-            pushes = SokobanSolver.getSolutionPushes();
+        if (solver != null && solver.getSolution() != null) {
+            moves = solver.getSolutionMoves();
+            pushes = solver.getSolutionPushes();
 
             //this is necessary because when expanding by moves i can't get the exact number of pushes without going
             //through the solution and counting them, but if the solution was move-optimal, it was also push-optimal,
             //so we can just go ahead and use the minimum number of pushes stored into the Level object
-            if (level.getBestSolution() >= SokobanSolver.getSolutionMoves())
+            if (level.getBestSolution() >= solver.getSolutionMoves())
                 pushes = level.getMinPushes();
 
             //SokobanSolver has found a solution, that means we now need to show it by letting the update portion of
@@ -97,7 +99,7 @@ public class BoardHandler {
 
         //this part concretely handles board updating by drawing the correct item for every cell of the GameBoard object
         //it only gets executed if we're showing a solution after finding it or if we're playing manually
-        if (isShowing && !SokobanSolver.isInterrupted()) {
+        if (isShowing) {
             for (int i = 0; i < game.getRows(); i++) {
                 for (int j = 0; j < game.getColumns(); j++) {
 
@@ -122,16 +124,16 @@ public class BoardHandler {
             }
         }
 
-        if (!MainMenu.manualGameplay && isShowing && !SokobanSolver.isInterrupted()) { //text to display when we're showing a solution
+        if (!MainMenu.manualGameplay && isShowing && solver != null) { //text to display when we're showing a solution
             Platform.runLater(() -> {
                 //we show both moves and pushes in case we're expanding by pushes or we found a move optimal solution...
-                if (SokobanSolver.getConfiguration().getExpansionScheme().equals(ExpansionScheme.PUSH_BASED) ||
-                        level.getBestSolution() >= SokobanSolver.getSolutionMoves()) {
+                if (solver.getConfiguration().getExpansionScheme().equals(ExpansionScheme.PUSH_BASED) ||
+                        level.getBestSolution() >= solver.getSolutionMoves()) {
 
                     SolverView.result.setText(MainMenu.algorithmValue + " found a solution in " + moves + " moves - " + pushes + " pushes.\n\n" +
-                            Transposer.getExaminedNodes() + " unique game states were examined.\n" +
-                            "Time elapsed: " + SokobanSolver.getTimeElapsed() + " seconds\n" +
-                            "Branches pruned by the Deadlock Detector: " + DeadlockDetector.getPrunedNodes() + "\n");
+                            solver.getContext().getTransposer().getExaminedNodes() + " unique game states were examined.\n" +
+                            "Time elapsed: " + solver.getTimeElapsed() + " seconds\n" +
+                            "Branches pruned by the Deadlock Detector: " + solver.getContext().getDetector().getPrunedNodes() + "\n");
                 }
                 //...whereas in case we're expanding by moves and we didn't find a move optimal solution we just omit
                 //the number of pushes, because as of now we cannot accurately get the number of pushes if we don't go through
@@ -139,25 +141,28 @@ public class BoardHandler {
                 //trying to optimize by pushes anyway
                 else {
                     SolverView.result.setText(MainMenu.algorithmValue + " found a solution in " + moves + " moves \n\n" +
-                            Transposer.getExaminedNodes() + " unique game states were examined.\n" +
-                            "Time elapsed: " + SokobanSolver.getTimeElapsed() + " seconds\n" +
-                            "Branches pruned by the Deadlock Detector: " + DeadlockDetector.getPrunedNodes() + "\n");
+                            solver.getContext().getTransposer().getExaminedNodes() + " unique game states were examined.\n" +
+                            "Time elapsed: " + solver.getTimeElapsed() + " seconds\n" +
+                            "Branches pruned by the Deadlock Detector: " + solver.getContext().getDetector().getPrunedNodes() + "\n");
                 }
 
-                if (SokobanSolver.getSolution() == null) isShowing = false;
+                if (solver.getSolution() == null) isShowing = false;
             });
         }
-        else if (!MainMenu.manualGameplay && isSearching && !SokobanSolver.isInterrupted()) { //text to display when we're searching for a solution
+        else if (!MainMenu.manualGameplay && isSearching && solver != null) { //text to display when we're searching for a solution
                 Platform.runLater(() -> {
                     String text = "Search in progress. The solution will be demonstrated after the computation.\n" +
                             "\nAlgorithm: " + MainMenu.algorithmValue +
                             "\nExpansion scheme: " + MainMenu.schemeValue;
-                    if (!MainMenu.algorithmValue.equals(Strategy.mapStrategy(Strategy.BFS)))
+                    if (!MainMenu.algorithmValue.equals(Strategy.mapStrategy(Strategy.BFS)) &&
+                            !MainMenu.algorithmValue.equals(Strategy.mapStrategy(Strategy.PBFS)) &&
+                            !MainMenu.algorithmValue.equals(Strategy.mapStrategy(Strategy.EXTBFS)) &&
+                            !MainMenu.algorithmValue.equals(Strategy.mapStrategy(Strategy.BIDIRECTIONAL)))
                         text += "\nHeuristic evaluation: " + MainMenu.heuristicValue + "\n\n";
                     else
                         text += "\n\n";
 
-                    text = text + SokobanSolver.getLogLine();
+                    text = text + solver.getLogLine();
                     SolverView.result.setText(text);
                 });
 
@@ -33,6 +33,7 @@ public class MainMenu extends Application {
     private static ChoiceBox<String> scheme = new ChoiceBox<>();
     private static ChoiceBox<String> heuristic = new ChoiceBox<>();
     private static ChoiceBox<String> routine = new ChoiceBox<>();
+    private static CheckBox automatic = new CheckBox("Pick the configuration automatically");
     protected static Scene menu;
 
     //information to pass to other gui classes
@@ -41,6 +42,7 @@ public class MainMenu extends Application {
     protected static String heuristicValue;
     protected static String routineValue;
     protected static int levelValue;
+    protected static boolean automaticValue = false;
     protected static boolean manualGameplay = false;
 
 
@@ -143,6 +145,13 @@ public class MainMenu extends Application {
         ddSide.setAlignment(Pos.CENTER);
         ddSide.getChildren().addAll(label5, routine);
 
+        //Configuring the automatic configuration checkbox: the choiceboxes above are ignored when it's selected
+        automatic.setTextFill(Color.LIGHTGRAY);
+        algorithm.disableProperty().bind(automatic.selectedProperty());
+        scheme.disableProperty().bind(automatic.selectedProperty());
+        heuristic.disableProperty().bind(automatic.selectedProperty());
+        routine.disableProperty().bind(automatic.selectedProperty());
+
         //Configuring start button
         Button button = new Button("Start computation");
         button.setBackground(new Background(new BackgroundFill(Color.TOMATO, null, null)));
@@ -155,7 +164,7 @@ public class MainMenu extends Application {
         layout.setAlignment(Pos.CENTER);
         layout.setBackground(background);
         layout.setSpacing(scaleByResolution(50));
-        layout.getChildren().addAll(levelContainer, algorithmSide, expSide, heuristicSide, ddSide, button);
+        layout.getChildren().addAll(levelContainer, algorithmSide, expSide, heuristicSide, ddSide, automatic, button);
         menu = new Scene(layout, 600, 700);
 
         //The button on the first scene triggers the switch to the gameplay scene and starts the game
@@ -166,6 +175,7 @@ public class MainMenu extends Application {
             schemeValue = scheme.getValue();
             levelValue = level.getValue();
             routineValue = routine.getValue();
+            automaticValue = automatic.isSelected();
             SolverView.start(primaryStage);
         });
 
@@ -14,18 +14,16 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
-import solver.DeadlockDetector;
 import solver.Node;
-import solver.SokobanSolver;
-import solver.SokobanToolkit;
-import solver.configuration.DDRoutine;
-import solver.configuration.ExpansionScheme;
+import solver.SolverContext;
+import solver.configuration.*;
 
 public class ManualGameplayView {
     private static final Logger log = Logger.getLogger("manualGameplayView");
     private static Level toLoad;
     private static GameBoard game;
     private static int moves;
+    private static SolverContext context;
     static Node test;
 
     static void start() throws CloneNotSupportedException {
@@ -38,6 +36,7 @@ public class ManualGameplayView {
 
         game = new GameBoard(toLoad);
         GridPane gameBoard = BoardHandler.createBoard(game);
+        BoardHandler.solver = null;
         BoardHandler.isShowing = true;
 
         Text inGame = new Text();
@@ -54,23 +53,24 @@ public class ManualGameplayView {
         gameStage.setResizable(false);
         gameStage.show();
 
-        DeadlockDetector.setRoutine(DDRoutine.DEAD_POSITIONS);
-        DeadlockDetector.handleDeadPositions((GameBoard) game.clone());
-        DeadlockDetector.setPrunedNodes(0);
+        //the manual game gets a context of its own, only used to check for dead positions and to log hashes and estimates
+        context = new SolverContext(Configuration.getInstance(ExpansionScheme.PUSH_BASED, Strategy.ASTAR,
+                Heuristic.MINIMUM_PERFECT_MATCHING, DDRoutine.DEAD_POSITIONS, toLoad));
+        context.getDetector().handleDeadPositions((GameBoard) game.clone());
+        game.setDetector(context.getDetector());
 
-        Node.setExpansionScheme(ExpansionScheme.PUSH_BASED);
-        test = new Node(game, new ArrayList<>());
+        test = new Node(game, new ArrayList<>(), context);
         log.info("hash " + test.hash());
 
         gameStage.addEventFilter(KeyEvent.KEY_PRESSED, keyEvent -> {
             switch (keyEvent.getCode()) {
                 case UP : {
                     try {
-                        if (DeadlockDetector.getPrunedNodes()==0 && !game.checkVictory()) {
+                        if (context.getDetector().getPrunedNodes()==0 && !game.checkVictory()) {
                             if (game.takeAction(Action.MOVE_UP))
                                 moves++;
                         }
-                        log.info("hash " + test.hash() + "\nlower bound " + SokobanToolkit.heuristicEstimate(game));
+                        log.info("hash " + test.hash() + "\nlower bound " + context.heuristicEstimate(game));
                     } catch (CloneNotSupportedException e) {
                         e.printStackTrace();
                     }
@@ -79,11 +79,11 @@ public class ManualGameplayView {
                 }
                 case DOWN : {
                     try {
-                        if (DeadlockDetector.getPrunedNodes()==0 && !game.checkVictory()) {
+                        if (context.getDetector().getPrunedNodes()==0 && !game.checkVictory()) {
                             if (game.takeAction(Action.MOVE_DOWN))
                                 moves++;
                         }
-                        log.info("hash " + test.hash() + "\nlower bound " + SokobanToolkit.heuristicEstimate(game));
+                        log.info("hash " + test.hash() + "\nlower bound " + context.heuristicEstimate(game));
                     } catch (CloneNotSupportedException e) {
                         e.printStackTrace();
                     }
@@ -92,11 +92,11 @@ public class ManualGameplayView {
                 }
                 case RIGHT : {                 
                     try {                         
-                        if (DeadlockDetector.getPrunedNodes()==0 && !game.checkVictory()) {
+                        if (context.getDetector().getPrunedNodes()==0 && !game.checkVictory()) {
                             if (game.takeAction(Action.MOVE_RIGHT))
                                 moves++;
                         }
-                        log.info("hash " + test.hash() + "\nlower bound " + SokobanToolkit.heuristicEstimate(game));
+                        log.info("hash " + test.hash() + "\nlower bound " + context.heuristicEstimate(game));
                     } catch (CloneNotSupportedException e) {
                         e.printStackTrace();
                     }
@@ -105,11 +105,11 @@ public class ManualGameplayView {
                 }
                 case LEFT : {                    
                     try {                     
-                        if (DeadlockDetector.getPrunedNodes()==0 && !game.checkVictory()) {
+                        if (context.getDetector().getPrunedNodes()==0 && !game.checkVictory()) {
                             if (game.takeAction(Action.MOVE_LEFT))
                                 moves++;
                         }
-                        log.info("hash " + test.hash() + "\nlower bound " + SokobanToolkit.heuristicEstimate(game));
+                        log.info("hash " + test.hash() + "\nlower bound " + context.heuristicEstimate(game));
                     } catch (CloneNotSupportedException e) {
                         e.printStackTrace();
                     }
@@ -117,7 +117,7 @@ public class ManualGameplayView {
                     break;
                 }
                 case R : {
-                    DeadlockDetector.setPrunedNodes(0);
+                    context.getDetector().setPrunedNodes(0);
                     gameStage.close();
                     moves = 0;
                     try {
@@ -131,7 +131,7 @@ public class ManualGameplayView {
                     MainMenu.levelValue = (MainMenu.levelValue + 1) % (Level.NUM_LEVELS + 1);
                     if (MainMenu.levelValue == 0) MainMenu.levelValue++;
                     game = new GameBoard(toLoad);
-                    DeadlockDetector.setPrunedNodes(0);
+                    context.getDetector().setPrunedNodes(0);
                     gameStage.close();
                     moves = 0;
                     try {
@@ -143,7 +143,7 @@ public class ManualGameplayView {
                 default : break;
             }
 
-            if (DeadlockDetector.getPrunedNodes()>0)
+            if (context.getDetector().getPrunedNodes()>0)
                 inGame.setText("\nYou reached a DEADLOCK!\nPress R to restart the game or N to try next level\n");
             else
                 inGame.setText("Moves: " + moves + "\n\n\n");
@@ -151,7 +151,6 @@ public class ManualGameplayView {
             //checking for victory after every action taken
             if (game.checkVictory()) {
                 inGame.setText("Moves: " + moves + "\n\nVICTORY! Press R to restart the game or N to try next level\n");
-                SokobanSolver.setSolution(null);
             }
         });
     }
@@ -16,7 +16,7 @@ import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import javafx.stage.Stage;
 import solver.SokobanSolver;
-import solver.configuration.Configuration;
+import solver.configuration.*;
 
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -37,7 +37,22 @@ public class SolverView {
 
         toLoad = new Level(MainMenu.levelValue);
         MainMenu.manualGameplay = false;
-        SokobanSolver.setSolution(null);
+
+        //Creating the solver with the configuration specified by the UI elements, or the one picked for the level
+        Configuration configuration;
+        if (MainMenu.automaticValue) {
+            configuration = Configuration.getAutomatic(toLoad);
+            //the rest of the UI shows the values of the configuration that was picked
+            MainMenu.algorithmValue = Strategy.mapStrategy(configuration.getStrategy());
+            MainMenu.schemeValue = ExpansionScheme.mapExpansionScheme(configuration.getExpansionScheme());
+            MainMenu.heuristicValue = Heuristic.mapHeuristic(configuration.getHeuristic());
+            MainMenu.routineValue = DDRoutine.mapDDRoutine(configuration.getRoutine());
+        }
+        else
+            configuration = Configuration.getInstance(MainMenu.schemeValue, MainMenu.algorithmValue,
+                MainMenu.heuristicValue, MainMenu.routineValue, toLoad);
+        SokobanSolver solver = new SokobanSolver(configuration);
+        BoardHandler.solver = solver;
 
         //root layout
         VBox boardLayout = new VBox();
@@ -114,10 +129,9 @@ public class SolverView {
         //Starting the thread that will execute the sokoban solver and actually move sokoban on the board
         Thread t1 = new Thread(() -> {
             try {
-                //Launching the solver with the configuration specified by the UI elements
+                //Launching the solver on a fresh copy of the level
                 game = new GameBoard(toLoad);
-                SokobanSolver.solve(game, Configuration.getInstance(MainMenu.schemeValue, MainMenu.algorithmValue,
-                        MainMenu.heuristicValue, MainMenu.routineValue, toLoad));
+                solver.solve(game);
             } catch (InterruptedException | CloneNotSupportedException e1) {
                 e1.printStackTrace();
             }
@@ -130,12 +144,12 @@ public class SolverView {
 
         //You can click on the button to get back to the menu
         back.setOnMouseClicked(keyEvent -> {
-            SokobanSolver.interrupt();
+            solver.interrupt();
             BoardHandler.isShowing = false;
             BoardHandler.isSearching = false;
             game = null;
             result = null;
-            SokobanSolver.setSolution(null);
+            solver.setSolution(null);
             primaryStage.close();
             primaryStage.setTitle("SokoBOT");
             primaryStage.setScene(MainMenu.menu);
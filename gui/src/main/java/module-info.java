@@ -4,12 +4,8 @@ module sample {
     requires javafx.fxml;
     requires java.logging;
     requires java.base;
-    requires com.google.gson;
+    requires sokobot.core;
 
     exports gui;
     opens gui;
-    exports game;
-    opens game;
-    exports solver;
-    opens solver;
 }